@@ -28,6 +28,7 @@ import com.anaplan.client.dto.ListItemParametersData;
 import com.anaplan.client.dto.ListItemResultData;
 import com.anaplan.client.dto.ModelData;
 import com.anaplan.client.dto.ModuleData;
+import com.anaplan.client.dto.TaskParametersData;
 import com.anaplan.client.dto.ViewData;
 import com.anaplan.client.dto.WorkspaceData;
 import com.anaplan.client.exceptions.AnaplanAPIException;
@@ -43,9 +44,13 @@ import com.anaplan.client.jdbc.JDBCUtils;
 import com.anaplan.client.transport.ConnectionProperties;
 import com.anaplan.client.transport.Paginator;
 import com.anaplan.client.transport.retryer.FeignApiRetryer;
+import com.anaplan.client.workflow.WorkflowDefinition;
+import com.anaplan.client.workflow.WorkflowResult;
+import com.anaplan.client.workflow.WorkflowRunner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.google.common.base.Strings;
 import com.opencsv.CSVParser;
 import com.opencsv.CSVWriter;
@@ -69,8 +74,13 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.KeyStoreException;
@@ -84,17 +94,20 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -124,50 +137,17 @@ public abstract class Program {
 
   private static final int MIN_CHUNK_SIZE = 1;
   private static final int MAX_CHUNK_SIZE = MIN_CHUNK_SIZE * 50;
+  // the library leaves the metadata catalog off unless asked, the command line reuses listings by default
+  private static final int METADATA_CACHE_TTL_SECS = 300;
   private static final Logger LOG = LoggerFactory.getLogger(Program.class);
-  private static int debugLevel = 0;
   private static Service service = null;
-  private static URI serviceLocation = null;
-  private static URI authServiceUrl;
-  private static URI proxyLocation = null;
-  private static boolean proxyLocationSet = false;
-  private static String username = null;
-  private static String passphrase = null;
-  private static String clientId = null;
-  private static String refreshType = null;
-  private static String proxyUsername = null;
-  private static boolean proxyUsernameSet = false;
-  private static String proxyPassphrase = null;
-  private static String keyStorePath = null;
-  private static String keyStoreAlias = null;
-  private static String keyStorePassword = null;
-  private static String privateKeyPath = null;
-  private static String certificatePath = null;
-  private static String workspaceId = null;
-  private static boolean noValidateWorkspace = false;
-  private static String modelId = null;
-  private static boolean noValidateModel = false;
-  private static String moduleId = null;
-  private static String viewId = null;
-  private static String fileId = null;
-  private static String fileType = null;
-  private static String listId = null;
-  private static String importId = null;
-  private static String exportId = null;
-  private static String actionId = null;
-  private static String processId = null;
-  private static String itemPropertiesPath = null;
-  private static TaskResult lastResult = null;
-  private static boolean somethingDone = false;
-  private static boolean forceRegister = false;
-  private static boolean includeAll;
-  private static boolean executeParamPresent;
-  private static TaskParameters taskParameters = new TaskParameters();
-  private static int chunkSize = fetchChunkSize(String.valueOf(MIN_CHUNK_SIZE));
-  private static String[] pagesSplit;
-  private static int maxRetryCount = Constants.MIN_RETRY_COUNT;
-  private static int retryTimeout = Constants.MIN_RETRY_TIMEOUT_SECS;
-  private static int httpConnectionTimeout = Constants.MIN_HTTP_CONNECTION_TIMEOUT_SECS;
+  private static boolean daemon = false;
+  private static List<Object> serviceSettings = null;
+  // the options of the command line being run, a fresh set for each run and each daemon job
+  private static Options options = new Options();
+  private static final String JOB_SUFFIX = ".job";
+  private static final String DAEMON_STOP_FILE = "daemon.stop";
+  private static final int DAEMON_POLL_SECS = 5;
   private static final String[] CSV_LOG_HEADER =
       new String[] {"Name", "Code", "failureType", "failureMessageDetails"};
   private static final String GET_JSON = "-get:json";
@@ -176,7 +156,6 @@ public abstract class Program {
   private static final String ITEMS_IGNORED = "{} items ignored";
   private static final String ROTATABLE = "rotatable";
   private enum AUTH_TYPE {BASIC, CERT, OAUTH}
-  private static AUTH_TYPE authType;
 
 
   /**
@@ -194,11 +173,56 @@ public abstract class Program {
     if (name != null) {
       MDC.put("process_id", name.split("@")[0]);
     }
+    if (execute(args) != 0) {
+      // System.exit causes abrupt termination, but the status is useful
+      // when run from an automated script.
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Parse and process one command line, starting from the default options.
+   *
+   * @param args the list of command-line arguments
+   * @return 1 if a serious error occurred, 0 otherwise
+   */
+  static int execute(String... args) {
+    return execute(new Options(), args);
+  }
+
+  /**
+   * Parse and process one command line, either that of the program or that of a daemon job. The options of the caller
+   * are put back afterwards, as are the debug logging and the default encoding the command line may have changed, so a
+   * daemon job leaves nothing behind for the next one.
+   *
+   * @param run  the options to start from, which the command line adds to
+   * @param args the list of command-line arguments
+   * @return 1 if a serious error occurred, 0 otherwise
+   */
+  private static int execute(Options run, String... args) {
+    Options caller = options;
+    boolean debugging = run.debugLevel > 0;
+    String fileEncoding = System.getProperty("file.encoding");
+    options = run;
+    try {
+      return runCommandLine(args);
+    } finally {
+      options = caller;
+      if (!debugging && run.debugLevel > 0) {
+        LogDebugUtils.disableDebugLogging();
+      }
+      if (fileEncoding != null) {
+        System.setProperty("file.encoding", fileEncoding);
+      }
+    }
+  }
+
+  private static int runCommandLine(String... args) {
 
     try {
       if (args.length == 0) {
         displayHelp();
-        return;
+        return 0;
       }
       int argi = 0;
       while (argi < args.length) {
@@ -208,39 +232,47 @@ public abstract class Program {
         JDBCConfig jdbcConfig = new JDBCConfig();
         if (Objects.equals(arg, "-h") || Objects.equals(arg, "-help")) {
           displayHelp();
-          somethingDone = true;
+          options.somethingDone = true;
         } else if (Objects.equals(arg, "-version")) {
           displayVersion();
-          somethingDone = true;
+          options.somethingDone = true;
         } else if (Objects.equals(arg, "-d") || Objects.equals(arg, "-debug")) {
-          if (debugLevel++ == 0) {
+          if (options.debugLevel++ == 0) {
             LogDebugUtils.enableDebugLogging();
             displayVersion();
           }
+        } else if (Objects.equals(arg, "-rs") || Objects.equals(arg, "-resume")) {
+          options.resumeTransfers = true;
+        } else if (Objects.equals(arg, "-nh2") || Objects.equals(arg, "-nohttp2")) {
+          options.http2 = false;
+        } else if (Objects.equals(arg, "-vt") || Objects.equals(arg, "-virtualthreads")) {
+          options.virtualThreads = true;
+        } else if (Objects.equals(arg, "-atc") || Objects.equals(arg, "-authtokencache")) {
+          options.authTokenCache = true;
         } else if (Objects.equals(arg, "--forceRegister")) {
-          forceRegister = true;
-          somethingDone = true;
+          options.forceRegister = true;
+          options.somethingDone = true;
           getService();
         } else if (Objects.equals(arg, "-MO") || Objects.equals(arg, "-modules")) {
-          somethingDone = true;
+          options.somethingDone = true;
           logModules();
         } else if (Objects.equals(arg, "-V") || Objects.equals(arg, "-views")) {
-          somethingDone = true;
+          options.somethingDone = true;
           Stream<ModelData> modelsStream =
               StreamSupport.stream(getService().getModels().spliterator(), false);
-          if (modelId != null) {
+          if (options.modelId != null) {
             modelsStream = modelsStream
-                .filter(model -> modelId.equals(model.getId()) || modelId.equals(model.getName()));
+                .filter(model -> options.modelId.equals(model.getId()) || options.modelId.equals(model.getName()));
           }
-          if (workspaceId != null) {
+          if (options.workspaceId != null) {
             modelsStream = modelsStream.filter(model -> {
               String modelWorkspaceId = model.getCurrentWorkspaceId();
               Workspace modelWorkspace = service.getWorkspace(modelWorkspaceId);
               if (modelWorkspace == null) {
                 return false;
               }
-              return workspaceId.equals(modelWorkspace.getId()) ||
-                  workspaceId.equals(modelWorkspace.getName());
+              return options.workspaceId.equals(modelWorkspace.getId()) ||
+                  options.workspaceId.equals(modelWorkspace.getName());
             });
           }
           modelsStream = modelsStream.sorted(Comparator.comparing(ModelData::getCurrentWorkspaceId)
@@ -250,7 +282,7 @@ public abstract class Program {
           // If the current user is a visitor user, they may not get data about the used workspace/model so we'll
           // just try with the provided input
           if (models.isEmpty()) {
-            Model model = getModel(workspaceId, modelId);
+            Model model = getModel(options.workspaceId, options.modelId);
             if (model != null) {
               models = Collections.singletonList(model.getData());
             }
@@ -259,7 +291,7 @@ public abstract class Program {
             logModuleViews(model);
           }
         } else if (Objects.equals(arg, "-W") || Objects.equals(arg, "-workspaces")) {
-          somethingDone = true;
+          options.somethingDone = true;
           Iterable<Workspace> workspaces = getService().getWorkspaces();
           String log = Utils.formatTSV("WS_ID", "WS_NAME", "WS_ALLOCATED_SIZE", "WS_SIZE");
           LOG.info(log);
@@ -270,7 +302,7 @@ public abstract class Program {
             LOG.info(log);
           }
         } else if (Objects.equals(arg, "-M") || Objects.equals(arg, "-models")) {
-          somethingDone = true;
+          options.somethingDone = true;
           Map<String, String> workspaceNames = StreamSupport
               .stream(getService().getWorkspaces().spliterator(), false)
               .collect(Collectors.toMap(Workspace::getId, Workspace::getName));
@@ -286,8 +318,8 @@ public abstract class Program {
             LOG.info(log);
           }
         } else if (Objects.equals(arg, "-F") || Objects.equals(arg, "-files")) {
-          somethingDone = true;
-          Model model = getModel(workspaceId, modelId);
+          options.somethingDone = true;
+          Model model = getModel(options.workspaceId, options.modelId);
           if (model != null) {
             String log;
             for (ServerFile serverFile : model.getServerFiles()) {
@@ -299,8 +331,8 @@ public abstract class Program {
             }
           }
         } else if (Objects.equals(arg, "-I") || Objects.equals(arg, "-imports")) {
-          somethingDone = true;
-          Model model = getModel(workspaceId, modelId);
+          options.somethingDone = true;
+          Model model = getModel(options.workspaceId, options.modelId);
           if (model != null) {
             String log;
             for (Import serverImport : model.getImports()) {
@@ -314,8 +346,8 @@ public abstract class Program {
             }
           }
         } else if (Objects.equals(arg, "-A") || Objects.equals(arg, "-actions")) {
-          somethingDone = true;
-          Model model = getModel(workspaceId, modelId);
+          options.somethingDone = true;
+          Model model = getModel(options.workspaceId, options.modelId);
           if (model != null) {
             String log;
             for (Action serverAction : model.getActions()) {
@@ -327,8 +359,8 @@ public abstract class Program {
             }
           }
         } else if (Objects.equals(arg, "-E") || Objects.equals(arg, "-exports")) {
-          somethingDone = true;
-          Model model = getModel(workspaceId, modelId);
+          options.somethingDone = true;
+          Model model = getModel(options.workspaceId, options.modelId);
           if (model != null) {
             String log;
             for (Export serverExport : model.getExports()) {
@@ -340,8 +372,8 @@ public abstract class Program {
             }
           }
         } else if (Objects.equals(arg, "-P") || Objects.equals(arg, "-processes")) {
-          somethingDone = true;
-          Model model = getModel(workspaceId, modelId);
+          options.somethingDone = true;
+          Model model = getModel(options.workspaceId, options.modelId);
           if (model != null) {
             String log;
             for (Process serverProcess : model.getProcesses()) {
@@ -354,23 +386,23 @@ public abstract class Program {
           }
         } else if (Objects.equals(arg, "-L") || "-lists".equals(arg)) {
           if (argi == args.length) {
-            somethingDone = true;
+            options.somethingDone = true;
             Service service = getService();
-            Model model = getModel(workspaceId, modelId);
+            Model model = getModel(options.workspaceId, options.modelId);
             if (service != null && model != null) {
               service
-                  .exportListNames(fileType, fileId, model.getCurrentWorkspaceId(), model.getId());
+                  .exportListNames(options.fileType, options.fileId, model.getCurrentWorkspaceId(), model.getId());
             }
           }
         } else if (Objects.equals(arg, "-l") || Objects.equals(arg, "-list")) {
-          listId = args[argi++];
+          options.listId = args[argi++];
           if (argi >= args.length) {
-            somethingDone = true;
+            options.somethingDone = true;
             Service service = getService();
-            Model model = getModel(workspaceId, modelId);
+            Model model = getModel(options.workspaceId, options.modelId);
             if (service != null) {
-              service.exportListMetadata(fileType, fileId, model.getCurrentWorkspaceId(),
-                  model.getId(), listId);
+              service.exportListMetadata(options.fileType, options.fileId, model.getCurrentWorkspaceId(),
+                  model.getId(), options.listId);
             }
           }
         } else if (Objects.equals(arg, GET_JSON) || Objects.equals(arg, "-get:csv") || Objects
@@ -381,42 +413,42 @@ public abstract class Program {
           boolean supportedModuleTypes =
               Objects.equals(arg, GET_JSON) || Objects.equals(arg, "-get:csv_sc") || Objects
                   .equals(arg, "-get:csv_mc");
-          fileType = arg.substring("-get:".length());
+          options.fileType = arg.substring("-get:".length());
           if (argi < args.length) {
-            fileId = args[argi];
+            options.fileId = args[argi];
           }
           argi++;
-          somethingDone = true;
-          Model model = getModel(workspaceId, modelId);
+          options.somethingDone = true;
+          Model model = getModel(options.workspaceId, options.modelId);
           if (argi >= args.length - 1) {
-            if (executeParamPresent && moduleId != null && supportedModuleTypes) {
-              Module module = getModule(workspaceId, modelId, moduleId);
+            if (options.executeParamPresent && options.moduleId != null && supportedModuleTypes) {
+              Module module = getModule(options.workspaceId, options.modelId, options.moduleId);
               if (module != null) {
                 module
-                    .exportViewData(fileType, fileId, model.getCurrentWorkspaceId(), model.getId(),
-                        viewId, pagesSplit);
+                    .exportViewData(options.fileType, options.fileId, model.getCurrentWorkspaceId(), model.getId(),
+                        options.viewId, options.pagesSplit);
               }
             } else if (supportedListTypes) {
               Service service = getService();
               if (service != null) {
-                if (executeParamPresent) {
-                  service.exportListItems(fileType, fileId, model.getCurrentWorkspaceId(),
-                      model.getId(), listId, includeAll);
+                if (options.executeParamPresent) {
+                  service.exportListItems(options.fileType, options.fileId, model.getCurrentWorkspaceId(),
+                      model.getId(), options.listId, options.includeAll);
                 } else if (supportedListTypes) {
-                  if (listId == null) {
-                    service.exportListNames(fileType, fileId, model.getCurrentWorkspaceId(),
+                  if (options.listId == null) {
+                    service.exportListNames(options.fileType, options.fileId, model.getCurrentWorkspaceId(),
                         model.getId());
                   } else {
-                    service.exportListMetadata(fileType, fileId, model.getCurrentWorkspaceId(),
-                        model.getId(), listId);
+                    service.exportListMetadata(options.fileType, options.fileId, model.getCurrentWorkspaceId(),
+                        model.getId(), options.listId);
                   }
                 }
               }
             }
           }
         } else if (Objects.equals(arg, "-emd")) {
-          somethingDone = true;
-          Export export = getExport(workspaceId, modelId, exportId);
+          options.somethingDone = true;
+          Export export = getExport(options.workspaceId, options.modelId, options.exportId);
           ExportMetadata emd = export.getExportMetadata();
           String delimiter = emd.getDelimiter();
           if ("\t".equals(delimiter)) {
@@ -442,32 +474,32 @@ public abstract class Program {
             LOG.info(" col {}:\n  name: {}\n  type: {}\n  list: {}", i, headerNames[i], dataType, listNames[i]);
           }
         } else if (Objects.equals(arg, "-x:all") || Objects.equals(arg, "-execute:all")) {
-          somethingDone = true;
-          executeParamPresent = true;
-          includeAll = true;
+          options.somethingDone = true;
+          options.executeParamPresent = true;
+          options.includeAll = true;
         } else if (Objects.equals(arg, "-x") || Objects.equals(arg, "-execute")) {
-          executeParamPresent = true;
+          options.executeParamPresent = true;
           TaskFactory taskFactory = null;
-          if (importId != null) {
-            somethingDone = true;
-            taskFactory = getImport(workspaceId, modelId, importId);
-          } else if (exportId != null) {
-            somethingDone = true;
-            taskFactory = getExport(workspaceId, modelId, exportId);
-          } else if (actionId != null) {
-            somethingDone = true;
-            taskFactory = getAction(workspaceId, modelId, actionId);
-          } else if (processId != null) {
-            taskFactory = getProcess(workspaceId, modelId,
-                processId);
+          if (options.importId != null) {
+            options.somethingDone = true;
+            taskFactory = getImport(options.workspaceId, options.modelId, options.importId);
+          } else if (options.exportId != null) {
+            options.somethingDone = true;
+            taskFactory = getExport(options.workspaceId, options.modelId, options.exportId);
+          } else if (options.actionId != null) {
+            options.somethingDone = true;
+            taskFactory = getAction(options.workspaceId, options.modelId, options.actionId);
+          } else if (options.processId != null) {
+            taskFactory = getProcess(options.workspaceId, options.modelId,
+                options.processId);
           }
           if (taskFactory != null) {
-            somethingDone = true;
-            Task task = taskFactory.createTask(taskParameters);
-            lastResult = task.runTask();
-          } else if (listId != null) {
+            options.somethingDone = true;
+            Task task = taskFactory.createTask(options.taskParameters);
+            options.lastResult = task.runTask();
+          } else if (options.listId != null) {
             // Performing list operations, like retrieving a list items
-          } else if (moduleId != null) {
+          } else if (options.moduleId != null) {
             // Performing module operations, like retrieving module view data
           } else {
             LOG.error("An import, export, action or "
@@ -475,20 +507,20 @@ public abstract class Program {
           }
 
         } else if (Objects.equals(arg, "-gets") || Objects.equals(arg, "-getc")) {
-          somethingDone = true;
+          options.somethingDone = true;
           String sourceId = null;
-          if (fileId != null) {
-            sourceId = fileId;
-          } else if (exportId != null) {
-            if (lastResult != null && lastResult.isSuccessful()) {
-              sourceId = exportId;
+          if (options.fileId != null) {
+            sourceId = options.fileId;
+          } else if (options.exportId != null) {
+            if (options.lastResult != null && options.lastResult.isSuccessful()) {
+              sourceId = options.exportId;
             } else {
               LOG.error("Export failed - ignoring content");
             }
           }
           if (null != sourceId) {
-            ServerFile serverFile = getServerFile(workspaceId,
-                modelId, sourceId, false);
+            ServerFile serverFile = getServerFile(options.workspaceId,
+                options.modelId, sourceId, false);
             if (serverFile != null) {
               if (Objects.equals(arg, "-gets")) {
                 InputStream inputStream = serverFile
@@ -519,26 +551,25 @@ public abstract class Program {
                   LOG.info(log);
                   row = cellReader.readDataRow();
                 } while (null != row);
+                cellReader.close();
               }
             }
           }
 
-        } else if (Objects.equals(arg, "-ch") || Objects.equals(arg, "-chunksize")) {
-          fetchChunkSize(args[argi++]);
         } else if (Objects.equals(arg, "-pages")) {
           String delim = ",";
           String regex = "(?<!\\\\)" + Pattern.quote(delim);
           String pages = args[argi++];
-          pagesSplit = pages.split(regex);
+          options.pagesSplit = pages.split(regex);
         } else if (Objects.equals(arg, "-auth") || Objects.equals(arg, "-authserviceurl")) {
-          authServiceUrl = new URI(args[argi++]);
+          options.authServiceUrl = new URI(args[argi++]);
         } else if (Objects.equals(arg, "-puts") || Objects.equals(arg, "-putc")) {
-          somethingDone = true;
-          ServerFile serverFile = getServerFile(workspaceId, modelId,
-              fileId, true);
+          options.somethingDone = true;
+          ServerFile serverFile = getServerFile(options.workspaceId, options.modelId,
+              options.fileId, true);
           if (serverFile != null) {
             if (Objects.equals(arg, "-puts")) {
-              OutputStream uploadStream = serverFile.getUploadStream(chunkSize);
+              OutputStream uploadStream = serverFile.getUploadStream(options.chunkSize);
               byte[] buf = new byte[4096];
               int read;
               do {
@@ -548,7 +579,7 @@ public abstract class Program {
               } while (-1 != read);
               uploadStream.close();
             } else {
-              CellWriter cellWriter = serverFile.getUploadCellWriter(chunkSize);
+              CellWriter cellWriter = serverFile.getUploadCellWriter(options.chunkSize);
               LineNumberReader lnr = new LineNumberReader(new InputStreamReader(System.in));
               String line;
               while (null != (line = lnr.readLine())) {
@@ -561,19 +592,42 @@ public abstract class Program {
               }
               cellWriter.close();
             }
-            LOG.info("Upload to {} completed.", fileId);
+            LOG.info("Upload to {} completed.", options.fileId);
           }
           // Now check the additional parameter is present before
           // processing consuming options
         } else if (argi >= args.length) {
           break;
+        } else if (Objects.equals(arg, "-rps") || Objects.equals(arg, "-maxrequestspersecond")) {
+          options.maxRequestsPerSecond = fetchIntInRange(args[argi++], "Max-Requests-Per-Second",
+              Constants.MIN_REQUESTS_PER_SECOND, Constants.MAX_REQUESTS_PER_SECOND);
+        } else if (Objects.equals(arg, "-kat") || Objects.equals(arg, "-keepalivetimeout")) {
+          options.keepAliveTimeout = fetchIntInRange(args[argi++], "Keep-Alive-Timeout",
+              Constants.MIN_KEEP_ALIVE_DURATION_SECS, Constants.MAX_KEEP_ALIVE_DURATION_SECS);
+        } else if (Objects.equals(arg, "-cps") || Objects.equals(arg, "-connectionpoolsize")) {
+          options.connectionPoolSize = fetchIntInRange(args[argi++], "Connection-Pool-Size",
+              Constants.MIN_IDLE_CONNECTIONS, Constants.MAX_IDLE_CONNECTIONS);
+        } else if (Objects.equals(arg, "-gzt") || Objects.equals(arg, "-compressionthreads")) {
+          options.compressionThreads = fetchIntInRange(args[argi++], "Compression-Threads",
+              Constants.MIN_COMPRESSION_THREADS, Constants.MAX_COMPRESSION_THREADS);
+        } else if (Objects.equals(arg, "-gzl") || Objects.equals(arg, "-compressionlevel")) {
+          options.compressionLevel = fetchIntInRange(args[argi++], "Compression-Level",
+              Constants.MIN_COMPRESSION_LEVEL, Constants.MAX_COMPRESSION_LEVEL);
+        } else if (Objects.equals(arg, "-lc") || Objects.equals(arg, "-listconcurrency")) {
+          options.listConcurrency = fetchIntInRange(args[argi++], "List-Concurrency",
+              Constants.MIN_LIST_CONCURRENCY, Constants.MAX_LIST_CONCURRENCY);
+        } else if (Objects.equals(arg, "-ch") || Objects.equals(arg, "-chunksize")) {
+          options.chunkSize = fetchChunkSize(args[argi++]);
+        } else if (Objects.equals(arg, "-tc") || Objects.equals(arg, "-transferconcurrency")) {
+          options.transferConcurrency = fetchIntInRange(args[argi++], "Transfer-Concurrency",
+              Constants.MIN_TRANSFER_CONCURRENCY, Constants.MAX_TRANSFER_CONCURRENCY);
         } else if (Objects.equals(arg, "-oauth-client-id")) {
-          authType = AUTH_TYPE.OAUTH;
-          clientId = args[argi++];
+          options.authType = AUTH_TYPE.OAUTH;
+          options.clientId = args[argi++];
         } else if (Objects.equals(arg, "--rotatable")) {
-          refreshType = ROTATABLE;
+          options.refreshType = ROTATABLE;
         } else if (Objects.equals(arg, "-s") || Objects.equals(arg, "-service")) {
-          serviceLocation = new URI(args[argi++]);
+          options.serviceLocation = new URI(args[argi++]);
         } else if (Objects.equals(arg, "-u") || Objects.equals(arg, "-user")) {
           String auth = args[argi++];
           int colonPosition = auth.indexOf(':');
@@ -599,16 +653,30 @@ public abstract class Program {
             setProxyPassphrase("?");
           }
         } else if (Objects.equals(arg, "-mrc") || Objects.equals(arg, "-maxretrycount")) {
-          maxRetryCount = fetchMaxRetryCount(args[argi++]);
+          options.maxRetryCount = fetchMaxRetryCount(args[argi++]);
         } else if (Objects.equals(arg, "-rt") || Objects.equals(arg, "-retrytimeout")) {
-          retryTimeout = fetchRetryTimeout(args[argi++]);
+          options.retryTimeout = fetchRetryTimeout(args[argi++]);
+        } else if (Objects.equals(arg, "-rb") || Objects.equals(arg, "-retrybudget")) {
+          options.retryBudget = fetchIntInRange(args[argi++], "Retry-Budget",
+              Constants.MIN_RETRY_BUDGET, Constants.MAX_RETRY_BUDGET);
+        } else if (Objects.equals(arg, "-cbf") || Objects.equals(arg, "-circuitfailures")) {
+          options.circuitFailureThreshold = fetchIntInRange(args[argi++], "Circuit-Failures",
+              Constants.MIN_CIRCUIT_FAILURE_THRESHOLD, Constants.MAX_CIRCUIT_FAILURE_THRESHOLD);
+        } else if (Objects.equals(arg, "-cbo") || Objects.equals(arg, "-circuitopen")) {
+          options.circuitOpenDuration = fetchIntInRange(args[argi++], "Circuit-Open",
+              Constants.MIN_CIRCUIT_OPEN_SECS, Constants.MAX_CIRCUIT_OPEN_SECS);
+        } else if (Objects.equals(arg, "-mct") || Objects.equals(arg, "-metadatacachettl")) {
+          options.metadataCacheTtl = fetchIntInRange(args[argi++], "Metadata-Cache-TTL",
+              Constants.MIN_METADATA_CACHE_TTL_SECS, Constants.MAX_METADATA_CACHE_TTL_SECS);
+        } else if (Objects.equals(arg, "-msf") || Objects.equals(arg, "-metadatasnapshot")) {
+          options.metadataSnapshot = args[argi++];
         } else if (Objects.equals(arg, "-ct") || Objects.equals(arg, "-httptimeout")) {
-          httpConnectionTimeout = fetchHttpTimeout(args[argi++]);
+          options.httpConnectionTimeout = fetchHttpTimeout(args[argi++]);
         } else if (Objects.equals(arg, "-c") || Objects.equals(arg, "-certificate")) {
           String certificatePath = args[argi++];
           setCertificatePath(certificatePath);
         } else if (Objects.equals(arg, "-pkey") || Objects.equals(arg, "-privatekey")) {
-          if (keyStorePath != null) {
+          if (options.keyStorePath != null) {
             throw new IllegalArgumentException(
                 "expected either the privatekey or the keystore arguments");
           }
@@ -622,7 +690,7 @@ public abstract class Program {
             setPassphrase("?");
           }
         } else if (Objects.equals(arg, "-k") || Objects.equals(arg, "-keystore")) {
-          if (passphrase != null || privateKeyPath != null) {
+          if (options.passphrase != null || options.privateKeyPath != null) {
             throw new IllegalArgumentException(
                 "expected either the privatekey or keystore arguments");
           }
@@ -635,30 +703,30 @@ public abstract class Program {
           String keyStorePassword = args[argi++];
           setKeyStorePassword(keyStorePassword);
         } else if (Objects.equals(arg, "-w") || Objects.equals(arg, "-workspace")) {
-          workspaceId = args[argi++];
+          options.workspaceId = args[argi++];
         } else if (Objects.equals(arg, "-w_id") || Objects.equals(arg, "-workspace_id")) {
-          workspaceId = args[argi++];
-          noValidateWorkspace = true;
+          options.workspaceId = args[argi++];
+          options.noValidateWorkspace = true;
         } else if (Objects.equals(arg, "-m") || Objects.equals(arg, "-model")) {
-          modelId = args[argi++];
+          options.modelId = args[argi++];
         } else if (Objects.equals(arg, "-m_id") || Objects.equals(arg, "-model_id")) {
-          modelId = args[argi++];
-          noValidateModel = true;
+          options.modelId = args[argi++];
+          options.noValidateModel = true;
         } else if (Objects.equals(arg, "-mo") || Objects.equals(arg, "-module")) {
-          moduleId = args[argi++];
+          options.moduleId = args[argi++];
         } else if (Objects.equals(arg, "-vi") || Objects.equals(arg, "-view")) {
-          viewId = args[argi++];
+          options.viewId = args[argi++];
         } else if (Objects.equals(arg, "-f") || Objects.equals(arg, "-file")) {
-          fileId = args[argi++];
+          options.fileId = args[argi++];
         } else if (Objects.equals(arg, "-g") || Objects.equals(arg, "-get")) {
-          somethingDone = true;
+          options.somethingDone = true;
           File targetFile = new File(args[argi++]);
           String sourceId;
-          if (fileId != null) {
-            sourceId = fileId;
-          } else if (exportId != null) {
-            if (lastResult != null && lastResult.isSuccessful()) {
-              sourceId = exportId;
+          if (options.fileId != null) {
+            sourceId = options.fileId;
+          } else if (options.exportId != null) {
+            if (options.lastResult != null && options.lastResult.isSuccessful()) {
+              sourceId = options.exportId;
             } else {
               LOG.error("Export failed - ignoring content");
               sourceId = null;
@@ -667,9 +735,9 @@ public abstract class Program {
             sourceId = targetFile.getName();
           }
           if (sourceId != null) {
-            ServerFile serverFile = getServerFile(workspaceId, modelId, sourceId, false);
+            ServerFile serverFile = getServerFile(options.workspaceId, options.modelId, sourceId, false);
             if (serverFile != null) {
-              serverFile.downLoad(targetFile, true);
+              serverFile.downLoad(targetFile, true, options.transferConcurrency, options.resumeTransfers);
               LOG.info("The server file {} has been downloaded to {}", sourceId,
                   targetFile.getAbsolutePath());
             }
@@ -678,7 +746,7 @@ public abstract class Program {
             || Objects.equals(arg, "-putItems:jdbc") ||
             Objects.equals(arg, "-upsertItems:jdbc") || Objects.equals(arg, "-upsertItems:json") || Objects
             .equals(arg, "-upsertItems:csv")) {
-          somethingDone = true;
+          options.somethingDone = true;
           boolean upsert = arg.startsWith("-upsertItems:");
           String type = arg.startsWith("-putItems") ? arg.substring("-putItems:".length()) :
               arg.substring("-upsertItems:".length());
@@ -690,16 +758,17 @@ public abstract class Program {
           ListItemResultData result = new ListItemResultData();
           result.setFailures(new ArrayList<>(0));
           ListImpl listImpl;
-          final Path itemMapFile = ("".equals(itemPropertiesPath) || itemPropertiesPath == null) ?
-              null : new File(itemPropertiesPath).toPath();
+          final Path itemMapFile = ("".equals(options.itemPropertiesPath) || options.itemPropertiesPath == null) ?
+              null : new File(options.itemPropertiesPath).toPath();
           if ("jdbc".equalsIgnoreCase(type)) {
             final Map<String, String> headerMap = getHeader(jdbcConfig, itemMapFile, args[argi++]);
-            listImpl = new ListImpl(getService(), workspaceId, modelId, listId, true);
+            listImpl = new ListImpl(getService(), options.workspaceId, options.modelId, options.listId, true);
             result = JDBCUtils.doActionsItemsFromJDBC(jdbcConfig, listImpl, headerMap,
-                ListImpl.ListAction.ADD, (itemPropertiesPath != null));
+                ListImpl.ListAction.ADD, (options.itemPropertiesPath != null));
           } else {
             final File sourceFile = new File(args[argi++]);
-            listImpl = new ListImpl(getService(), workspaceId, modelId, listId, false);
+            listImpl = new ListImpl(getService(), options.workspaceId, options.modelId, options.listId, false);
+            listImpl.setConcurrency(options.listConcurrency);
 
             result = listImpl.doActionToItems(sourceFile.toPath(), itemMapFile, FileType
                 .valueOf(type.toUpperCase()), ListImpl.ListAction.ADD);
@@ -718,7 +787,7 @@ public abstract class Program {
         } else if (Objects.equals(arg, "-updateItems:json") || Objects
             .equals(arg, "-updateItems:csv") ||
             Objects.equals(arg, "-updateItems:jdbc")) {
-          somethingDone = true;
+          options.somethingDone = true;
           String type = arg.substring("-updateItems:".length());
           final Path outputPath = getOutput(args, argi);
           String outputType = null;
@@ -728,16 +797,17 @@ public abstract class Program {
           final ListImpl listImpl;
           ListItemResultData result = new ListItemResultData();
           result.setFailures(new ArrayList<>(0));
-          final Path itemMapFile = ("".equals(itemPropertiesPath) || itemPropertiesPath == null)
-              ? null : new File(itemPropertiesPath).toPath();
+          final Path itemMapFile = ("".equals(options.itemPropertiesPath) || options.itemPropertiesPath == null)
+              ? null : new File(options.itemPropertiesPath).toPath();
           if ("jdbc".equalsIgnoreCase(type)) {
-            listImpl = new ListImpl(getService(), workspaceId, modelId, listId, true);
+            listImpl = new ListImpl(getService(), options.workspaceId, options.modelId, options.listId, true);
             final Map<String, String> headerMap = getHeader(jdbcConfig, itemMapFile, args[argi++]);
             result = JDBCUtils
                 .doActionsItemsFromJDBC(jdbcConfig, listImpl, headerMap, ListAction.UPDATE,
-                    (itemPropertiesPath != null));
+                    (options.itemPropertiesPath != null));
           } else {
-            listImpl = new ListImpl(getService(), workspaceId, modelId, listId, false);
+            listImpl = new ListImpl(getService(), options.workspaceId, options.modelId, options.listId, false);
+            listImpl.setConcurrency(options.listConcurrency);
             final File sourceFile = new File(args[argi++]);
 
             result = listImpl
@@ -760,64 +830,76 @@ public abstract class Program {
           }
         } else if (Objects.equals(arg, "-deleteItems:json") || Objects.equals(arg, "-deleteItems:csv") ||
             Objects.equals(arg, "-deleteItems:jdbc")) {
-          somethingDone = true;
+          options.somethingDone = true;
           String type = arg.substring("-deleteItems:".length());
           final Path outputPath = getOutput(args, argi);
           String outputType = null;
           if (outputPath != null) {
             outputType = args[argi + 1].substring(OUTPUT.length());
           }
-          final Path itemMapFile = ("".equals(itemPropertiesPath) || itemPropertiesPath == null) ?
-              null : new File(itemPropertiesPath).toPath();
+          final Path itemMapFile = ("".equals(options.itemPropertiesPath) || options.itemPropertiesPath == null) ?
+              null : new File(options.itemPropertiesPath).toPath();
           ListItemResultData result = new ListItemResultData();
           result.setFailures(new ArrayList<>());
           if ("jdbc".equalsIgnoreCase(type)) {
             final Map<String, String> headerMap = getHeader(jdbcConfig, itemMapFile, args[argi++]);
-            final ListImpl listImpl = new ListImpl(getService(), workspaceId, modelId, listId,
+            final ListImpl listImpl = new ListImpl(getService(), options.workspaceId, options.modelId, options.listId,
                 true);
             result = JDBCUtils.doActionsItemsFromJDBC(jdbcConfig, listImpl, headerMap,
-                ListImpl.ListAction.DELETE, (itemPropertiesPath != null));
+                ListImpl.ListAction.DELETE, (options.itemPropertiesPath != null));
             argi = handleDeleteLog(result, outputPath, outputType, listImpl.getContent(), argi);
           } else {
             final File sourceFile = new File(args[argi++]);
-            final ListImpl listImpl = new ListImpl(getService(), workspaceId, modelId, listId, false);
+            final ListImpl listImpl = new ListImpl(getService(), options.workspaceId, options.modelId, options.listId,
+                false);
+            listImpl.setConcurrency(options.listConcurrency);
             result = listImpl.doActionToItems(sourceFile.toPath(), itemMapFile, FileType
                 .valueOf(type.toUpperCase()), ListImpl.ListAction.DELETE);
             argi = handleDeleteLog(result, outputPath, outputType, listImpl.getContent(), argi);
           }
+        } else if (Objects.equals(arg, "-wf") || Objects.equals(arg, "-workflow")) {
+          options.somethingDone = true;
+          runWorkflow(new File(args[argi++]));
+        } else if (Objects.equals(arg, "-daemon")) {
+          if (daemon) {
+            throw new IllegalArgumentException("-daemon cannot be given in a daemon job");
+          }
+          options.somethingDone = true;
+          runDaemon(Paths.get(args[argi++]));
         } else if (Objects.equals(arg, "-p") || Objects.equals(arg, "-put")) {
-          somethingDone = true;
+          options.somethingDone = true;
           File sourceFile = new File(args[argi++]);
-          String destId = fileId == null ? sourceFile.getName() : fileId;
-          ServerFile serverFile = getServerFile(workspaceId, modelId,
+          String destId = options.fileId == null ? sourceFile.getName() : options.fileId;
+          ServerFile serverFile = getServerFile(options.workspaceId, options.modelId,
               destId, true);
           if (serverFile != null) {
-            serverFile.upLoad(sourceFile, true, chunkSize);
+            serverFile.upLoad(sourceFile, true, options.chunkSize, options.transferConcurrency,
+                options.resumeTransfers);
             LOG.info("The file \"{}\" has been uploaded as {}.", sourceFile, destId);
           }
         } else if (Objects.equals(arg, "-i") || Objects.equals(arg, "-import")) {
-          importId = args[argi++];
-          exportId = null;
-          actionId = null;
-          processId = null;
+          options.importId = args[argi++];
+          options.exportId = null;
+          options.actionId = null;
+          options.processId = null;
         } else if (Objects.equals(arg, "-e") || Objects.equals(arg, "-export")) {
-          importId = null;
-          exportId = args[argi++];
-          actionId = null;
-          processId = null;
+          options.importId = null;
+          options.exportId = args[argi++];
+          options.actionId = null;
+          options.processId = null;
         } else if (Objects.equals(arg, "-a") || Objects.equals(arg, "-action")) {
-          importId = null;
-          exportId = null;
-          actionId = args[argi++];
-          processId = null;
+          options.importId = null;
+          options.exportId = null;
+          options.actionId = args[argi++];
+          options.processId = null;
         } else if (Objects.equals(arg, "-pr") || Objects.equals(arg, "-process")) {
-          importId = null;
-          exportId = null;
-          actionId = null;
-          processId = args[argi++];
+          options.importId = null;
+          options.exportId = null;
+          options.actionId = null;
+          options.processId = args[argi++];
         } else if (Objects.equals(arg, "-xl") || Objects.equals(arg, "-locale")) {
           String[] localeName = args[argi++].split("_");
-          taskParameters.setLocale(localeName[0], localeName.length > 0 ? localeName[1] : null);
+          options.taskParameters.setLocale(localeName[0], localeName.length > 0 ? localeName[1] : null);
         } else if (Objects.equals(arg, "-xc") || Objects.equals(arg, "-connectorproperty")) {
           String[] propEntry = args[argi++].split(":", 2);
           if (propEntry.length != 2) {
@@ -834,14 +916,14 @@ public abstract class Program {
           String propValue = promptForValue(prompt, propEntry[1],
               property.toLowerCase().endsWith("password"));
           if (propKey.length == 2) {
-            taskParameters.addConnectorParameter(propKey[0],
+            options.taskParameters.addConnectorParameter(propKey[0],
                 propKey[1], propValue);
           } else {
-            taskParameters.addConnectorParameter(propKey[0],
+            options.taskParameters.addConnectorParameter(propKey[0],
                 propValue);
           }
         } else if (Objects.equals(arg, "-im") || Objects.equals(arg, "-itemmappingproperty")) {
-          itemPropertiesPath = Optional.ofNullable(args[argi++]).orElse("");
+          options.itemPropertiesPath = Optional.ofNullable(args[argi++]).orElse("");
         } else if (Objects.equals(arg, "-xm") || Objects.equals(arg, "-mappingproperty")) {
           String[] propEntry = args[argi++].split(":", 2);
           if (propEntry.length != 2) {
@@ -853,15 +935,15 @@ public abstract class Program {
           String propValue = promptForValue(propEntry[0],
               propEntry[1], false);
           if (propKey.length == 2) {
-            taskParameters.addMappingParameter(propKey[0],
+            options.taskParameters.addMappingParameter(propKey[0],
                 propKey[1], propValue);
           } else {
-            taskParameters.addMappingParameter(propKey[0],
+            options.taskParameters.addMappingParameter(propKey[0],
                 propValue);
           }
         } else if (Objects.equals(arg, "-o") || Objects.equals(arg, "-output")) {
           File outputFile = new File(args[argi++]);
-          retrieveOutput(lastResult, outputFile);
+          retrieveOutput(options.lastResult, outputFile);
         } else if (Objects.equals(arg, "-loadclass")) {
           argi++;
           //Removing the usage of loadclass parameter
@@ -870,13 +952,13 @@ public abstract class Program {
         } else if (arg.equals("-jdbcproperties")) {
           String propertiesFilePath = args[argi++];
           jdbcConfig = loadJdbcProperties(propertiesFilePath);
-          if (fileId != null) {
-            ServerFile serverFile = getServerFile(workspaceId, modelId,
-                fileId, true);
+          if (options.fileId != null) {
+            ServerFile serverFile = getServerFile(options.workspaceId, options.modelId,
+                options.fileId, true);
             CellWriter cellWriter = null;
             CellReader cellReader = null;
             try {
-              cellWriter = serverFile.getUploadCellWriter(chunkSize);
+              cellWriter = serverFile.getUploadCellWriter(options.chunkSize);
               cellReader = new JDBCCellReader(jdbcConfig)
                   .connectAndExecute();
               String[] row = cellReader.getHeaderRow();
@@ -887,11 +969,11 @@ public abstract class Program {
                   cellWriter.writeDataRow(row);
                   ++rowCount;
                 }
-                somethingDone = true; // TBD
+                options.somethingDone = true; // TBD
               } while (null != row && row.length > 0);
               cellWriter.close();
               cellWriter = null;
-              LOG.info("Transferred {} records to {}", rowCount, fileId);
+              LOG.info("Transferred {} records to {}", rowCount, options.fileId);
             } finally {
               if (cellReader != null) {
                 cellReader.close();
@@ -900,13 +982,13 @@ public abstract class Program {
                 cellWriter.abort();
               }
             }
-          } else if (exportId != null) {
-            ServerFile serverFile = getServerFile(workspaceId, modelId,
-                exportId, true);
+          } else if (options.exportId != null) {
+            ServerFile serverFile = getServerFile(options.workspaceId, options.modelId,
+                options.exportId, true);
             if (serverFile != null) {
               CellWriter cellWriter = null;
-              somethingDone = true;
-              Export export = getExport(workspaceId, modelId, exportId);
+              options.somethingDone = true;
+              Export export = getExport(options.workspaceId, options.modelId, options.exportId);
               if (export == null) {
                 continue;
               }
@@ -925,12 +1007,15 @@ public abstract class Program {
           break;
         }
       }
-      if (!somethingDone) {
+      if (!options.somethingDone) {
         displayHelp();
       }
-      closeDown();
+      if (!daemon) {
+        closeDown();
+      }
+      return 0;
     } catch (Exception thrown) {
-      if (authType == AUTH_TYPE.OAUTH && thrown instanceof FeignException) {
+      if (options.authType == AUTH_TYPE.OAUTH && thrown instanceof FeignException) {
         FeignException exception = (FeignException) thrown;
         if (exception.status() == 403) {
           LOG.error("The refresh token has expired. Please register again using -forceRegister parameter once.", exception);
@@ -941,11 +1026,146 @@ public abstract class Program {
         // Some brevity for those who don't
         LOG.error(Utils.formatThrowable(thrown));
       }
-      // System.exit causes abrupt termination, but the status is useful
-      // when run from an automated script.
-      closeDown();
-      Thread.currentThread().interrupt();
-      System.exit(1);
+      options.failureMessage = Utils.formatThrowable(thrown);
+      forgetMetadata(thrown);
+      if (!daemon) {
+        closeDown();
+      }
+      if (thrown instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      return 1;
+    }
+  }
+
+  /**
+   * Serves jobs dropped into a spool directory, one at a time in name order, until a file named {@value
+   * #DAEMON_STOP_FILE} appears there or the process is stopped. The service, its connection pool and its auth token are
+   * kept from one job to the next, so a job pays for none of them.
+   * <p>
+   * A job is a file ending in {@value #JOB_SUFFIX} holding the command-line arguments of one run, one per line, applied
+   * on top of the options given before -daemon. Write it under another name and rename it, so it is not picked up half
+   * written. While it runs it is renamed to end in .running, then to .done or .failed, and its exit status, with the
+   * error if it failed, is written to a file ending in .result.
+   */
+  private static void runDaemon(Path spoolDirectory) throws IOException, InterruptedException {
+    if (!Files.isDirectory(spoolDirectory)) {
+      throw new IllegalArgumentException("Spool directory " + spoolDirectory + " does not exist");
+    }
+    Options defaults = options.copy();
+    Path stopFile = spoolDirectory.resolve(DAEMON_STOP_FILE);
+    daemon = true;
+    LOG.info("Serving jobs from {}", spoolDirectory);
+    try (WatchService watcher = spoolDirectory.getFileSystem().newWatchService()) {
+      spoolDirectory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE);
+      while (!Files.exists(stopFile)) {
+        for (Path job : pendingJobs(spoolDirectory)) {
+          if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+          }
+          runJob(job, defaults);
+        }
+        // Polls too, as not every file system reports new files
+        WatchKey key = watcher.poll(DAEMON_POLL_SECS, TimeUnit.SECONDS);
+        if (key != null) {
+          key.pollEvents();
+          key.reset();
+        }
+      }
+      Files.deleteIfExists(stopFile);
+    } finally {
+      daemon = false;
+    }
+    LOG.info("Stopped serving jobs from {}", spoolDirectory);
+  }
+
+  private static List<Path> pendingJobs(Path spoolDirectory) throws IOException {
+    try (Stream<Path> files = Files.list(spoolDirectory)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(JOB_SUFFIX))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Runs one job from a copy of the daemon's options. A job whose result cannot be written is marked failed, so it is
+   * never left looking as if it were still running.
+   */
+  private static void runJob(Path job, Options defaults) throws IOException {
+    String fileName = job.getFileName().toString();
+    String jobName = fileName.substring(0, fileName.length() - JOB_SUFFIX.length());
+    Path running = job.resolveSibling(jobName + ".running");
+    try {
+      Files.move(job, running, StandardCopyOption.ATOMIC_MOVE);
+    } catch (NoSuchFileException e) {
+      // Taken by another daemon serving the same directory
+      return;
+    }
+    LOG.info("Starting job {}", jobName);
+    long started = System.currentTimeMillis();
+    boolean succeeded = false;
+    try {
+      String[] jobArgs = Files.readAllLines(running, StandardCharsets.UTF_8).stream()
+          .filter(line -> !line.isEmpty())
+          .toArray(String[]::new);
+      Options jobOptions = defaults.copy();
+      int status = execute(jobOptions, jobArgs);
+      List<String> result = new ArrayList<>();
+      result.add("status=" + status);
+      if (status != 0 && jobOptions.failureMessage != null) {
+        result.add("error=" + jobOptions.failureMessage.replace('\n', ' '));
+      }
+      Files.write(job.resolveSibling(jobName + ".result"), result, StandardCharsets.UTF_8);
+      succeeded = status == 0;
+    } catch (IOException e) {
+      LOG.error("Job {} could not be run or its result written: {}", jobName, e.getMessage());
+    } finally {
+      Files.move(running, job.resolveSibling(jobName + (succeeded ? ".done" : ".failed")),
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+    LOG.info("Job {} {} in {} ms", jobName, succeeded ? "done" : "failed", System.currentTimeMillis() - started);
+  }
+
+  /**
+   * Drops the listings of the model this run resolved, in memory and in the snapshot, in case the failure was down to
+   * one of them being out of date, so the next run or daemon job checks the names against the server. A failure before
+   * a model was resolved drops them all. Failures of the command line or of authentication leave them be.
+   */
+  private static void forgetMetadata(Exception thrown) {
+    if (service == null || thrown instanceof IllegalArgumentException || thrown instanceof InterruptedException
+        || thrown instanceof UnknownAuthenticationException) {
+      return;
+    }
+    if (options.metadataScope != null) {
+      service.getMetadataCatalog().invalidate(options.metadataScope);
+    } else {
+      service.getMetadataCatalog().invalidate();
+    }
+  }
+
+  /**
+   * Runs the steps of a workflow file, each once the steps it depends on are done. Steps that name no workspace or
+   * model, in a workflow that names none either, use the ones selected on the command line.
+   */
+  private static void runWorkflow(File workflowFile)
+      throws IOException, InterruptedException, UnknownAuthenticationException {
+    String fileName = workflowFile.getName().toLowerCase(Locale.ROOT);
+    ObjectMapper mapper = fileName.endsWith(".yaml") || fileName.endsWith(".yml")
+        ? new ObjectMapper(new YAMLFactory()) : new ObjectMapper();
+    WorkflowDefinition definition = mapper.readValue(workflowFile, WorkflowDefinition.class);
+    if (definition.getWorkspace() == null) {
+      definition.setWorkspace(options.workspaceId);
+    }
+    if (definition.getModel() == null) {
+      definition.setModel(options.modelId);
+    }
+    WorkflowRunner runner = new WorkflowRunner(getService());
+    runner.setChunkSize(options.chunkSize);
+    runner.setTransferConcurrency(options.transferConcurrency);
+    runner.setResumeTransfers(options.resumeTransfers);
+    WorkflowResult result = runner.run(definition);
+    if (!result.isSuccessful()) {
+      throw new AnaplanAPIException("Workflow steps did not succeed: " + result.getUnsuccessfulSteps());
     }
   }
 
@@ -955,7 +1175,7 @@ public abstract class Program {
       throws Exception {
     int transferredrows;
     int[] mapcols = new int[0];
-    for (int k = 0; k < maxRetryCount; k++) {
+    for (int k = 0; k < options.maxRetryCount; k++) {
       List<ChunkData> chunkList = serverFile.getChunks();
       try {
         //If it is null the exception will be caught with retry
@@ -995,7 +1215,7 @@ public abstract class Program {
 
   private static void createRetrier(int k, final String message) {
     AnaplanJdbcRetryer anaplanJdbcRetryer = new AnaplanJdbcRetryer(
-        (long) (retryTimeout * 1000),
+        (long) (options.retryTimeout * 1000),
         (long) Constants.MAX_RETRY_TIMEOUT_SECS * 1000,
         FeignApiRetryer.DEFAULT_BACKOFF_MULTIPLIER);
     long interval = anaplanJdbcRetryer.nextMaxInterval(k);
@@ -1046,9 +1266,9 @@ public abstract class Program {
         dataRow.setSeparator(separator);
         dataRow.setColumnCount(columnCount);
         dataRow.setChunks(chunkList.size());
-        dataRow.setRetryTimeout(retryTimeout);
-        dataRow.setMaxRetryCount(maxRetryCount);
-        dataRow.setExportId(exportId);
+        dataRow.setRetryTimeout(options.retryTimeout);
+        dataRow.setMaxRetryCount(options.maxRetryCount);
+        dataRow.setExportId(options.exportId);
         dataRow.setMapcols(mapcols);
         transferredrows = cellWriter
             .writeDataRow(dataRow);
@@ -1117,18 +1337,18 @@ public abstract class Program {
   }
 
   public static void logModules() throws UnknownAuthenticationException {
-    Model model = getModel(workspaceId, modelId);
+    Model model = getModel(options.workspaceId, options.modelId);
     if (model == null) {
       return;
     }
-    workspaceId = model.getCurrentWorkspaceId();
-    modelId = model.getId();
+    options.workspaceId = model.getCurrentWorkspaceId();
+    options.modelId = model.getId();
 
-    if (workspaceId != null && modelId != null) {
+    if (options.workspaceId != null && options.modelId != null) {
       Iterable<ModuleData> moduleIterator = getService()
-          .getModules(workspaceId, modelId);
+          .getModules(options.workspaceId, options.modelId);
       if ((((Paginator<ModuleData>) moduleIterator).getPageInfo().getTotalSize()).equals(0)) {
-        LOG.info("Model - {} has no modules.", modelId);
+        LOG.info("Model - {} has no modules.", options.modelId);
       } else {
         String log = Utils.formatTSV("Module_ID", "Module_Name");
         LOG.info(log);
@@ -1148,10 +1368,10 @@ public abstract class Program {
         .getModules(currentWorkspaceId, currentModelId);
     Stream<ModuleData> moduleDataStream = StreamSupport
         .stream(moduleIterator.spliterator(), false);
-    if (moduleId != null) {
-      moduleDataStream = moduleDataStream.filter(module -> moduleId.equals(module.getId())
-          || moduleId.equals(module.getName())
-          || moduleId.equals(module.getCode()));
+    if (options.moduleId != null) {
+      moduleDataStream = moduleDataStream.filter(module -> options.moduleId.equals(module.getId())
+          || options.moduleId.equals(module.getName())
+          || options.moduleId.equals(module.getCode()));
     }
     String log = Utils.formatTSV("Module_ID", "Module_Name", "View_ID", "View_Name");
     LOG.info(log);
@@ -1171,14 +1391,17 @@ public abstract class Program {
   }
 
   private static void closeDown() {
-    if (service != null && Task.getRunningTask() == null) {
+    if (service != null && !service.isClosingDown()) {
       service.close();
       service = null;
     }
   }
 
   /**
-   * Validates the chunk-size value and then converts it to bytes and stores it.
+   * Validates the chunk-size value and then converts it to bytes.
+   *
+   * @param value the chunk size in MB
+   * @return the chunk size in bytes
    */
   static int fetchChunkSize(String value) {
     Integer chSize;
@@ -1192,8 +1415,20 @@ public abstract class Program {
           + "] cannot be less than " + MIN_CHUNK_SIZE
           + "MB or larger than " + MAX_CHUNK_SIZE + "MB");
     }
-    chunkSize = 1000 * 1000 * chSize;  // MB to bytes
-    return chunkSize;
+    return 1000 * 1000 * chSize;  // MB to bytes
+  }
+
+  private static int fetchIntInRange(String value, String name, int min, int max) {
+    int number;
+    try {
+      number = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Provided " + name + " is not a number!");
+    }
+    if (number > max || number < min) {
+      throw new IllegalArgumentException(name + " can only be within the range [" + min + ", " + max + "]");
+    }
+    return number;
   }
 
   private static int fetchMaxRetryCount(String value) {
@@ -1520,19 +1755,15 @@ public abstract class Program {
     }
     Model model = null;
 
-    if (!noValidateModel) {
-      for (Model m : workspace.getModels()) {
-        if (modelId.equals(m.getId()) || modelId.equalsIgnoreCase(m.getName())) {
-          model = m;
-          break;
-        }
-      }
+    if (!options.noValidateModel) {
+      model = workspace.findModel(modelId);
     }
     if (model == null) {
       ModelData data = new ModelData(modelId, "");
       model = new Model(workspace, data);
       model.setCurrentWorkspaceId(workspaceId);
     }
+    options.metadataScope = MetadataCatalog.scope(workspace.getId(), model.getId());
     return model;
   }
 
@@ -1551,7 +1782,7 @@ public abstract class Program {
     }
     Workspace result = null;
 
-    if (!noValidateWorkspace) {
+    if (!options.noValidateWorkspace) {
       try {
         result = getService().getWorkspace(workspaceId);
       } catch (WorkspaceNotFoundException | UnknownAuthenticationException ignored) {
@@ -1576,29 +1807,68 @@ public abstract class Program {
    * @since 1.3
    */
   protected static Service getService() throws AnaplanAPIException, UnknownAuthenticationException {
-    if (service != null) {
+    List<Object> settings = getServiceSettings();
+    if (service != null && (!daemon || settings.equals(serviceSettings))) {
       return service;
     }
+    // A daemon job connecting differently from the jobs before it
+    closeDown();
 
     ConnectionProperties props = getConnectionProperties();
-    service = DefaultServiceProvider.getService(props, Constants.X_ACONNECT_HEADER_KEY, Constants.X_ACONNECT_HEADER_VALUE);
-    service.authenticate();
+    Service created = DefaultServiceProvider.getService(props, Constants.X_ACONNECT_HEADER_KEY,
+        Constants.X_ACONNECT_HEADER_VALUE);
+    try {
+      created.authenticate();
+    } catch (RuntimeException e) {
+      created.close();
+      throw e;
+    }
+    service = created;
+    serviceSettings = settings;
     return service;
   }
 
+  /**
+   * @return the options the service is built from, to tell whether a daemon job can reuse the service of the jobs
+   * before it
+   */
+  private static List<Object> getServiceSettings() {
+    Options o = options;
+    return Arrays.asList(o.serviceLocation, o.authServiceUrl, o.proxyLocation, o.proxyLocationSet, o.username,
+        o.passphrase, o.clientId, o.refreshType, o.proxyUsername, o.proxyUsernameSet, o.proxyPassphrase,
+        o.keyStorePath, o.keyStoreAlias, o.keyStorePassword, o.privateKeyPath, o.certificatePath, o.authType,
+        o.forceRegister, o.maxRetryCount, o.retryTimeout, o.httpConnectionTimeout, o.compressionLevel,
+        o.compressionThreads, o.connectionPoolSize, o.keepAliveTimeout, o.http2, o.virtualThreads, o.authTokenCache,
+        o.maxRequestsPerSecond, o.retryBudget, o.circuitFailureThreshold, o.circuitOpenDuration, o.metadataCacheTtl,
+        o.metadataSnapshot);
+  }
+
   protected static ConnectionProperties getConnectionProperties() {
     ConnectionProperties props = new ConnectionProperties();
-    props.setApiServicesUri(serviceLocation);
+    props.setApiServicesUri(options.serviceLocation);
     props.setAuthServiceUri(getAuthServiceUri());
     props.setApiCredentials(getServiceCredentials());
-    props.setRetryTimeout(retryTimeout);
-    props.setMaxRetryCount(maxRetryCount);
-    props.setHttpTimeout(httpConnectionTimeout);
-    props.setClientId(clientId);
-    props.setRefreshType(refreshType);
-    props.setForceRegister(forceRegister);
-    if (proxyLocationSet) {
-      props.setProxyLocation(proxyLocation);
+    props.setRetryTimeout(options.retryTimeout);
+    props.setMaxRetryCount(options.maxRetryCount);
+    props.setHttpTimeout(options.httpConnectionTimeout);
+    props.setCompressionLevel(options.compressionLevel);
+    props.setCompressionThreads(options.compressionThreads);
+    props.setMaxIdleConnections(options.connectionPoolSize);
+    props.setKeepAliveDuration(options.keepAliveTimeout);
+    props.setHttp2(options.http2);
+    props.setVirtualThreads(options.virtualThreads);
+    props.setAuthTokenCache(options.authTokenCache);
+    props.setMaxRequestsPerSecond(options.maxRequestsPerSecond);
+    props.setRetryBudget(options.retryBudget);
+    props.setCircuitFailureThreshold(options.circuitFailureThreshold);
+    props.setCircuitOpenDuration(options.circuitOpenDuration);
+    props.setMetadataCacheTtl(options.metadataCacheTtl);
+    props.setMetadataSnapshot(options.metadataSnapshot);
+    props.setClientId(options.clientId);
+    props.setRefreshType(options.refreshType);
+    props.setForceRegister(options.forceRegister);
+    if (options.proxyLocationSet) {
+      props.setProxyLocation(options.proxyLocation);
       props.setProxyCredentials(getProxyCredentials());
     }
     return props;
@@ -1612,14 +1882,14 @@ public abstract class Program {
    * @since 1.3.1
    */
   protected static Credentials getServiceCredentials() throws AnaplanAPIException {
-    if (authType == AUTH_TYPE.CERT) {
+    if (options.authType == AUTH_TYPE.CERT) {
       try {
         return new Credentials(getCertificate(), getPrivateKey());
       } catch (Exception e) {
         throw new AnaplanAPIException("Could not initialise service credentials", e);
       }
-    } else if (authType == AUTH_TYPE.OAUTH) {
-      return new Credentials(clientId);
+    } else if (options.authType == AUTH_TYPE.OAUTH) {
+      return new Credentials(options.clientId);
     }
     return new Credentials(getUsername(), getPassphrase());
   }
@@ -1632,7 +1902,7 @@ public abstract class Program {
    * @since 1.3.1
    */
   protected static Credentials getProxyCredentials() {
-    if (!proxyUsernameSet) {
+    if (!options.proxyUsernameSet) {
       return null;
     }
     String[] parts = getProxyUsername().split("\\\\");
@@ -1657,16 +1927,16 @@ public abstract class Program {
    * @since 1.3
    */
   protected static String getUsername() {
-    if (username == null || username.isEmpty()) {
+    if (options.username == null || options.username.isEmpty()) {
       Console console = System.console();
       if (console != null) {
-        username = console.readLine("Username:");
+        options.username = console.readLine("Username:");
       } else {
         throw new UnsupportedOperationException(
             "Username must be specified");
       }
     }
-    return username;
+    return options.username;
   }
 
   /**
@@ -1676,7 +1946,7 @@ public abstract class Program {
    * @since 1.3
    */
   protected static void setUsername(String username) {
-    Program.username = username;
+    options.username = username;
   }
 
   /**
@@ -1687,16 +1957,16 @@ public abstract class Program {
    * @since 1.3
    */
   protected static String getPassphrase() {
-    if (passphrase == null || passphrase.isEmpty() || Objects.equals(passphrase, "?")) {
+    if (options.passphrase == null || options.passphrase.isEmpty() || Objects.equals(options.passphrase, "?")) {
       Console console = System.console();
       if (console != null) {
-        passphrase = new String(console.readPassword("Password:"));
+        options.passphrase = new String(console.readPassword("Password:"));
       } else {
         throw new UnsupportedOperationException(
             "Password/Passphrase must be specified");
       }
     }
-    return passphrase;
+    return options.passphrase;
   }
 
   /**
@@ -1706,7 +1976,7 @@ public abstract class Program {
    * @since 1.3
    */
   protected static void setPassphrase(String passphrase) {
-    Program.passphrase = passphrase;
+    options.passphrase = passphrase;
   }
 
   /**
@@ -1716,12 +1986,12 @@ public abstract class Program {
    * @return Anaplan Auth-Service URL
    */
   protected static URI getAuthServiceUri() {
-    if (authServiceUrl == null || authServiceUrl.toString().isEmpty() || authServiceUrl.toString()
-        .equals("?")) {
+    if (options.authServiceUrl == null || options.authServiceUrl.toString().isEmpty()
+        || options.authServiceUrl.toString().equals("?")) {
       Console console = System.console();
       if (console != null) {
         try {
-          authServiceUrl = new URI(console.readLine("Anaplan Auth-Service URL:"));
+          options.authServiceUrl = new URI(console.readLine("Anaplan Auth-Service URL:"));
         } catch (URISyntaxException e) {
           throw new AnaplanAPIException("Unable to parse Auth-Service URI: ", e);
         }
@@ -1729,7 +1999,7 @@ public abstract class Program {
         throw new UnsupportedOperationException("Auth-Service URL must be specified!");
       }
     }
-    return authServiceUrl;
+    return options.authServiceUrl;
   }
 
   /**
@@ -1739,7 +2009,7 @@ public abstract class Program {
    * @since 1.3
    */
   protected static void setServiceLocation(URI serviceLocation) {
-    Program.serviceLocation = serviceLocation;
+    options.serviceLocation = serviceLocation;
   }
 
   /**
@@ -1750,8 +2020,8 @@ public abstract class Program {
    * @since 1.3
    */
   protected static void setProxyLocation(URI proxyLocation) {
-    Program.proxyLocation = proxyLocation;
-    Program.proxyLocationSet = true;
+    options.proxyLocation = proxyLocation;
+    options.proxyLocationSet = true;
   }
 
   /**
@@ -1762,16 +2032,16 @@ public abstract class Program {
    * @since 1.3.1
    */
   protected static String getProxyUsername() {
-    if ("?".equals(proxyUsername)) {
+    if ("?".equals(options.proxyUsername)) {
       Console console = System.console();
       if (console != null) {
-        proxyUsername = console.readLine("Proxy username:");
+        options.proxyUsername = console.readLine("Proxy username:");
       } else {
         throw new UnsupportedOperationException(
             "Proxy username must be specified");
       }
     }
-    return proxyUsername;
+    return options.proxyUsername;
   }
 
   /**
@@ -1781,8 +2051,8 @@ public abstract class Program {
    * @since 1.3.1
    */
   protected static void setProxyUsername(String username) {
-    Program.proxyUsername = username;
-    proxyUsernameSet = true;
+    options.proxyUsername = username;
+    options.proxyUsernameSet = true;
   }
 
   /**
@@ -1793,16 +2063,16 @@ public abstract class Program {
    * @since 1.3.1
    */
   protected static String getProxyPassphrase() {
-    if ("?".equals(proxyPassphrase)) {
+    if ("?".equals(options.proxyPassphrase)) {
       Console console = System.console();
       if (console != null) {
-        proxyPassphrase = new String(console.readPassword("Proxy password:"));
+        options.proxyPassphrase = new String(console.readPassword("Proxy password:"));
       } else {
         throw new UnsupportedOperationException(
             "Proxy password must be specified");
       }
     }
-    return proxyPassphrase;
+    return options.proxyPassphrase;
   }
 
   /**
@@ -1812,7 +2082,7 @@ public abstract class Program {
    * @since 1.3.1
    */
   protected static void setProxyPassphrase(String passphrase) {
-    Program.proxyPassphrase = passphrase;
+    options.proxyPassphrase = passphrase;
   }
 
   /**
@@ -1822,7 +2092,7 @@ public abstract class Program {
    * @since 1.3
    */
   protected static void setDebugLevel(int debugLevel) {
-    Program.debugLevel = debugLevel;
+    options.debugLevel = debugLevel;
   }
 
   /**
@@ -1864,7 +2134,7 @@ public abstract class Program {
       File privateKeyFile = new File(privateKeyPath);
       if (privateKeyFile.isFile()) {
         //load privateKey from file
-        return loadPrivateKeyFromFile(privateKeyPath, passphrase);
+        return loadPrivateKeyFromFile(privateKeyPath, options.passphrase);
       } else {
         throw new IllegalArgumentException(
             "The specified privateKey path '" + privateKeyPath + "' is invalid");
@@ -1885,7 +2155,7 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static String getCertificatePath() {
-    return certificatePath;
+    return options.certificatePath;
   }
 
   /**
@@ -1894,8 +2164,8 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static void setCertificatePath(String certificatePath) {
-    Program.certificatePath = certificatePath;
-    Program.authType = AUTH_TYPE.CERT;
+    options.certificatePath = certificatePath;
+    options.authType = AUTH_TYPE.CERT;
   }
 
   /**
@@ -1904,15 +2174,15 @@ public abstract class Program {
    * @return the privateKeyPath
    */
   public static String getPrivateKeyPath() {
-    return privateKeyPath;
+    return options.privateKeyPath;
   }
 
   /**
    * Set the path to the privateKey
    */
   public static void setPrivateKeyPath(String privateKeyPath) {
-    Program.privateKeyPath = privateKeyPath;
-    Program.authType = AUTH_TYPE.CERT;
+    options.privateKeyPath = privateKeyPath;
+    options.authType = AUTH_TYPE.CERT;
   }
 
   /**
@@ -1922,7 +2192,7 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static String getKeyStorePath() {
-    return keyStorePath;
+    return options.keyStorePath;
   }
 
   /**
@@ -1931,8 +2201,8 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static void setKeyStorePath(String keyStorePath) {
-    Program.keyStorePath = keyStorePath;
-    Program.authType = AUTH_TYPE.CERT;
+    options.keyStorePath = keyStorePath;
+    options.authType = AUTH_TYPE.CERT;
   }
 
   /**
@@ -1942,7 +2212,7 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static String getKeyStoreAlias() {
-    return keyStoreAlias;
+    return options.keyStoreAlias;
   }
 
   /**
@@ -1952,7 +2222,7 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static void setKeyStoreAlias(String keyStoreAlias) {
-    Program.keyStoreAlias = keyStoreAlias;
+    options.keyStoreAlias = keyStoreAlias;
   }
 
   /**
@@ -1964,9 +2234,9 @@ public abstract class Program {
    */
   protected static String getKeyStorePassword() {
     Path userHomeDirectory = null;
-    if ("?".equals(keyStorePassword)) {
+    if ("?".equals(options.keyStorePassword)) {
       promptForKeystorePassword();
-    } else if (keyStorePassword == null || keyStorePassword.isEmpty()) {
+    } else if (options.keyStorePassword == null || options.keyStorePassword.isEmpty()) {
       // first try the password file
       try {
         userHomeDirectory = Paths.get(System.getProperty("user.home")).toAbsolutePath();
@@ -1985,7 +2255,7 @@ public abstract class Program {
         promptForKeystorePassword();
       }
     }
-    return keyStorePassword;
+    return options.keyStorePassword;
   }
 
   /**
@@ -1994,7 +2264,7 @@ public abstract class Program {
    * @since 1.3.2
    */
   protected static void setKeyStorePassword(String keyStorePassword) {
-    Program.keyStorePassword = keyStorePassword;
+    options.keyStorePassword = keyStorePassword;
   }
 
   /**
@@ -2131,7 +2401,7 @@ public abstract class Program {
   private static void promptForKeystorePassword() {
     Console console = System.console();
     if (console != null) {
-      keyStorePassword = new String(console.readPassword("Key store password:"));
+      options.keyStorePassword = new String(console.readPassword("Key store password:"));
     } else {
       throw new UnsupportedOperationException("Key store password must be specified");
     }
@@ -2155,7 +2425,7 @@ public abstract class Program {
     jdbcConfig.setJdbcUsername(jdbcProps.getProperty("jdbc.username"));
     jdbcConfig.setJdbcPassword(jdbcProps.getProperty("jdbc.password") == null ? new char[0]
         : jdbcProps.getProperty("jdbc.password").toCharArray());
-    if (fileId != null) {
+    if (options.fileId != null) {
       try {
         jdbcConfig.setJdbcFetchSize(Integer.parseInt(jdbcProps.getProperty("jdbc.fetch.size")));
       } catch (NumberFormatException e) {
@@ -2237,7 +2507,18 @@ public abstract class Program {
         "(-vu|-viauser) [<domain>[\\<workstation>]\\]<username>[:<password>]: use proxy credentials\n"
         + "(-mrc|-maxretrycount): Max retry count for API calls\n"
         + "(-rt|-retrytimeout): Retry timeout for Http client calls\n"
+        + "(-rb|-retrybudget) <n>: retries of failed API calls allowed per 10 seconds across all threads, defaults to 30\n"
+        + "(-cbf|-circuitfailures) <n>: consecutive failures after which calls fail fast, defaults to 5\n"
+        + "(-cbo|-circuitopen) <seconds>: how long calls fail fast before a trial call, defaults to 30\n"
         + "(-ct|-httptimeout): Http client connection timeout\n"
+        + "(-cps|-connectionpoolsize) <n>: idle connections kept open for reuse, defaults to 16\n"
+        + "(-kat|-keepalivetimeout) <seconds>: how long an idle connection is kept open, defaults to 300\n"
+        + "(-nh2|-nohttp2): use HTTP/1.1 only instead of negotiating HTTP/2\n"
+        + "(-rps|-maxrequestspersecond) <n>: ceiling on API requests per second; the rate also adapts to HTTP 429\n"
+        + "(-vt|-virtualthreads): run parallel transfers on virtual threads (Java 21 or later)\n"
+        + "(-atc|-authtokencache): reuse a still valid auth token cached on disk by an earlier run\n"
+        + "(-mct|-metadatacachettl) <seconds>: how long workspace, model and action listings are reused, 0 disables, defaults to 300\n"
+        + "(-msf|-metadatasnapshot) <file>: keep those listings in a file, so later runs resolve names without listing them\n"
         + "\n"
         + "Workspace Contents:\n"
         + "-------------------\n"
@@ -2256,6 +2537,10 @@ public abstract class Program {
         + "(-F|-files): list available server files in selected model\n"
         + "(-f|-file) (<id>|<name>): select a server file by id/name\n"
         + "(-ch|-chunksize): upload chunk-size number, defaults to 1048576.\n"
+        + "(-tc|-transferconcurrency) <n>: number of file chunks transferred in parallel, defaults to 1.\n"
+        + "(-lc|-listconcurrency) <n>: number of batches of list items from a file sent in parallel, defaults to 1.\n"
+        + "(-gzl|-compressionlevel) <0-9>: gzip level for uploaded chunks, 0 stores only, 1 is fastest\n"
+        + "(-gzt|-compressionthreads) <n>: cores used to gzip each uploaded chunk, defaults to 1.\n"
         +
         "(-pages): Comma separated list of <page dimension id>:<dimension member id> The page selector values that identify the page to retrieve\n"
         + "\n"
@@ -2266,10 +2551,15 @@ public abstract class Program {
         "(-get:csv|-get:csv_sc|-get:csv_mc|-get:json) [local path]: Export to local file of type csv or json\n"
         + "-gets Write specified server file to standard output\n"
         + "-getc Write tab-separated server file to standard output\n"
+        + "(-rs|-resume): Resume an interrupted -get download or -put upload instead of starting over\n"
         + "(-p|-put) <local path>: Upload to specified server file from local file\n"
         + "-puts Upload to specified server file from standard input\n"
         + "-putc Upload to specified server file from tab-separated standard input\n"
         + "-file Export data to a local file\n"
+        + "(-wf|-workflow) <file>: run the uploads, imports, processes, actions, exports and downloads of a YAML or JSON\n"
+        + "    workflow, running steps that do not depend on each other in parallel\n"
+        + "-daemon <spool directory>: stay connected and run each <name>.job file that appears in the directory, holding\n"
+        + "    the arguments of one run one per line, until a daemon.stop file appears; writes <name>.result\n"
         + "\n"
         + "Server Actions:\n"
         + "---------------\n"
@@ -2529,4 +2819,95 @@ public abstract class Program {
     }
     return output;
   }
+
+  /**
+   * The options and outcome of one run of the command line. Each run starts from a fresh set, or for a daemon job from
+   * a copy of the options given before -daemon, so nothing one job sets is seen by the next.
+   */
+  private static final class Options implements Cloneable {
+
+    int debugLevel = 0;
+    URI serviceLocation = null;
+    URI authServiceUrl;
+    URI proxyLocation = null;
+    boolean proxyLocationSet = false;
+    String username = null;
+    String passphrase = null;
+    String clientId = null;
+    String refreshType = null;
+    String proxyUsername = null;
+    boolean proxyUsernameSet = false;
+    String proxyPassphrase = null;
+    String keyStorePath = null;
+    String keyStoreAlias = null;
+    String keyStorePassword = null;
+    String privateKeyPath = null;
+    String certificatePath = null;
+    String workspaceId = null;
+    boolean noValidateWorkspace = false;
+    String modelId = null;
+    boolean noValidateModel = false;
+    String moduleId = null;
+    String viewId = null;
+    String fileId = null;
+    String fileType = null;
+    String listId = null;
+    String importId = null;
+    String exportId = null;
+    String actionId = null;
+    String processId = null;
+    String itemPropertiesPath = null;
+    TaskResult lastResult = null;
+    boolean somethingDone = false;
+    boolean forceRegister = false;
+    boolean includeAll;
+    boolean executeParamPresent;
+    TaskParameters taskParameters = new TaskParameters();
+    int chunkSize = MIN_CHUNK_SIZE * 1000 * 1000;
+    String[] pagesSplit;
+    int maxRetryCount = Constants.MIN_RETRY_COUNT;
+    int retryTimeout = Constants.MIN_RETRY_TIMEOUT_SECS;
+    int httpConnectionTimeout = Constants.MIN_HTTP_CONNECTION_TIMEOUT_SECS;
+    int transferConcurrency = Constants.MIN_TRANSFER_CONCURRENCY;
+    int listConcurrency = Constants.MIN_LIST_CONCURRENCY;
+    boolean resumeTransfers = false;
+    Integer compressionLevel = null;
+    Integer compressionThreads = null;
+    Integer connectionPoolSize = null;
+    Integer keepAliveTimeout = null;
+    boolean http2 = true;
+    boolean virtualThreads = false;
+    boolean authTokenCache = false;
+    Integer maxRequestsPerSecond = null;
+    Integer retryBudget = null;
+    Integer circuitFailureThreshold = null;
+    Integer circuitOpenDuration = null;
+    int metadataCacheTtl = METADATA_CACHE_TTL_SECS;
+    String metadataSnapshot = null;
+    // the listings of the model the run resolved, the ones a failure may be down to
+    String metadataScope = null;
+    String failureMessage = null;
+    AUTH_TYPE authType;
+
+    /**
+     * @return a copy of the options to start a daemon job from, without the outcome of this run
+     */
+    Options copy() {
+      Options copy;
+      try {
+        copy = (Options) clone();
+      } catch (CloneNotSupportedException e) {
+        throw new IllegalStateException(e);
+      }
+      // changed in place by -execute parameters
+      copy.taskParameters = new TaskParameters();
+      copy.taskParameters.setData(ObjectMapperProvider.getObjectMapper()
+          .convertValue(taskParameters.getData(), TaskParametersData.class));
+      copy.lastResult = null;
+      copy.somethingDone = false;
+      copy.metadataScope = null;
+      copy.failureMessage = null;
+      return copy;
+    }
+  }
 }
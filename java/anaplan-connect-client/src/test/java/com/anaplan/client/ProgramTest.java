@@ -0,0 +1,94 @@
+package com.anaplan.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ProgramTest {
+
+  @Test
+  void testChunkSizeConvertedToBytes() {
+    assertEquals(5_000_000, Program.fetchChunkSize("5"));
+    assertThrows(IllegalArgumentException.class, () -> Program.fetchChunkSize("0"));
+  }
+
+  @Test
+  void testTrailingOptionWithoutValueShowsHelp() {
+    List<String> options = Arrays.asList(
+        "-chunksize", "-transferconcurrency",
+        "-listconcurrency",
+        "-compressionlevel", "-compressionthreads",
+        "-connectionpoolsize", "-keepalivetimeout",
+        "-maxrequestspersecond");
+    for (String option : options) {
+      assertEquals(0, Program.execute(option), option);
+    }
+  }
+
+  @Test
+  void testDaemonRunsJobsUntilStopped() throws Exception {
+    Path spool = Files.createTempDirectory("daemon-spool");
+    ExecutorService daemon = Executors.newSingleThreadExecutor();
+    try {
+      write(spool.resolve("1-version.job"), "-version");
+      // an invalid chunk size fails the job, not the daemon
+      write(spool.resolve("2-invalid.job"), "-chunksize", "0");
+      Future<Integer> status = daemon.submit(() -> Program.execute("-daemon", spool.toString()));
+
+      waitFor(spool.resolve("2-invalid.failed"));
+      assertTrue(Files.exists(spool.resolve("1-version.done")));
+      assertEquals(Arrays.asList("status=0"), read(spool.resolve("1-version.result")));
+      List<String> failed = read(spool.resolve("2-invalid.result"));
+      assertEquals("status=1", failed.get(0));
+      assertTrue(failed.get(1).startsWith("error="));
+
+      // the daemon keeps serving after a failed job
+      write(spool.resolve("3-version.job"), "-version");
+      waitFor(spool.resolve("3-version.done"));
+
+      write(spool.resolve("daemon.stop"));
+      assertEquals(0, status.get(30, TimeUnit.SECONDS));
+      assertFalse(Files.exists(spool.resolve("daemon.stop")));
+    } finally {
+      daemon.shutdownNow();
+      try (Stream<Path> files = Files.list(spool)) {
+        for (Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(spool);
+    }
+  }
+
+  private static void write(Path file, String... lines) throws Exception {
+    // written under another name and renamed, as the daemon expects
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.write(temporary, Arrays.asList(lines), StandardCharsets.UTF_8);
+    Files.move(temporary, file);
+  }
+
+  private static List<String> read(Path file) throws Exception {
+    return Files.readAllLines(file, StandardCharsets.UTF_8);
+  }
+
+  private static void waitFor(Path file) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+    while (!Files.exists(file)) {
+      assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + file);
+      Thread.sleep(50);
+    }
+  }
+}
@@ -1,12 +1,28 @@
 package com.anaplan.client.auth;
 
+import com.anaplan.client.Utils;
 import com.anaplan.client.api.AnaplanAuthenticationAPI;
+import com.anaplan.client.auth.TokenCache.CachedToken;
 import com.anaplan.client.dto.responses.RefreshTokenResp;
 import com.anaplan.client.exceptions.AnaplanAPIException;
 import com.anaplan.client.transport.ConnectionProperties;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the auth token of a session valid for the threads sharing it.
+ * <p>
+ * The current token is published as an immutable snapshot, so reading it on every request takes no lock. A token is
+ * refreshed in the background ahead of its expiry; request threads only wait for a fresh token when the current one is
+ * missing or about to expire, and then only one of them fetches it while the others wait for its result.
+ */
 public abstract class AbstractAuthenticator implements Authenticator {
 
   private static final Logger LOG = LoggerFactory
@@ -14,12 +30,20 @@ public abstract class AbstractAuthenticator implements Authenticator {
 
   private static final int TOKEN_EXPIRATION_REFRESH_WINDOW = 5 * 60 * 1000;
   private static final int TOKEN_EXPIRED_WINDOW = 60 * 1000;
+  private static final int REFRESH_RETRY_DELAY = 30 * 1000;
+  private static volatile ScheduledThreadPoolExecutor refresher;
 
   protected ConnectionProperties connectionProperties;
   protected AnaplanAuthenticationAPI authClient;
 
-  protected Long authTokenExpiresAt;
-  protected byte[] authToken;
+  protected volatile Long authTokenExpiresAt;
+  protected volatile byte[] authToken;
+
+  private final AtomicReference<AuthToken> currentToken = new AtomicReference<>();
+  private final ReentrantLock renewLock = new ReentrantLock();
+  private final AtomicBoolean refreshQueued = new AtomicBoolean();
+  private volatile boolean tokenUsed;
+  private volatile ScheduledFuture<?> scheduledRefresh;
 
   protected AbstractAuthenticator(ConnectionProperties connectionProperties,
       AnaplanAuthenticationAPI authClient) {
@@ -28,22 +52,26 @@ public abstract class AbstractAuthenticator implements Authenticator {
   }
 
   /**
-   * Fetches auth token from Anaplan Auth Service, checks to see if its expired and accordingly
-   * fetches a fresh new token or refreshes the existing token, exactly 1 minute before it expires,
-   * as defined by TOKEN_EXPIRED_WINDOW.
+   * Returns the current auth token. A token that is missing, or expires within the minute defined by
+   * TOKEN_EXPIRED_WINDOW, is replaced with a fresh one before returning; a token in its last five minutes, as defined by
+   * TOKEN_EXPIRATION_REFRESH_WINDOW, is refreshed in the background and still returned meanwhile.
    *
-   * @return AuthenticationResp
+   * @return the auth token
    */
   @Override
   public String authToken() {
-    if (authToken == null || authTokenExpiresAt == null
-        || System.currentTimeMillis() - authTokenExpiresAt > TOKEN_EXPIRED_WINDOW) {
-      authToken = authenticate();
-    } else if (authTokenExpiresAt - System.currentTimeMillis() < TOKEN_EXPIRATION_REFRESH_WINDOW) {
-      authToken = refreshToken();
+    AuthToken token = currentToken.get();
+    long now = System.currentTimeMillis();
+    if (token == null || !token.isUsable(now)) {
+      token = renewToken(token);
+    } else if (now >= token.refreshAt && refreshQueued.compareAndSet(false, true)) {
+      // the scheduled refresh was skipped while the session was idle, or failed
+      refresher().execute(this::refreshInBackground);
     }
-
-    return new String(authToken);
+    if (!tokenUsed) {
+      tokenUsed = true;
+    }
+    return token.value;
   }
 
   byte[] refreshToken() {
@@ -57,8 +85,185 @@ public abstract class AbstractAuthenticator implements Authenticator {
     }
   }
 
-  public void setAuthToken(byte[] authToken){
-    this.authToken = authToken;
+  /**
+   * Identifies the credentials whose token may be shared through the on-disk token cache. The identity names the cache
+   * file, so it must not include any secret.
+   *
+   * @return the identity, or null if tokens of these credentials are not to be cached
+   */
+  protected String tokenCacheIdentity() {
+    return null;
+  }
+
+  /**
+   * The secret of the credentials, which the cached token is encrypted with.
+   *
+   * @return the secret, or null if tokens of these credentials are not to be cached
+   */
+  protected String tokenCacheSecret() {
+    return null;
+  }
+
+  /**
+   * Publishes a token obtained outside of this class, expiring at {@link #authTokenExpiresAt}.
+   *
+   * @param authToken the token
+   */
+  public void setAuthToken(byte[] authToken) {
+    publish(authToken);
   }
 
+  /**
+   * Authenticates again, unless another thread has already replaced the rejected token. Threads rejected together wait
+   * here for the first one to authenticate, then retry with its token.
+   *
+   * @param rejectedToken the token sent with the rejected request, or null if unknown
+   */
+  @Override
+  public void reauthenticate(String rejectedToken) {
+    renewLock.lock();
+    try {
+      AuthToken latest = currentToken.get();
+      if (rejectedToken != null && latest != null && !rejectedToken.equals(latest.value)) {
+        return;
+      }
+      publish(authenticateShared(rejectedToken));
+    } finally {
+      renewLock.unlock();
+    }
+  }
+
+  /**
+   * Authenticates again on the calling thread, unless another thread has published a usable token since the stale one
+   * was read.
+   */
+  private AuthToken renewToken(AuthToken stale) {
+    renewLock.lock();
+    try {
+      AuthToken latest = currentToken.get();
+      if (latest != null && latest != stale && latest.isUsable(System.currentTimeMillis())) {
+        return latest;
+      }
+      return publish(authenticateShared(null));
+    } finally {
+      renewLock.unlock();
+    }
+  }
+
+  private void refreshInBackground() {
+    refreshQueued.set(false);
+    if (!tokenUsed) {
+      // nobody has asked for the token since it was published; the next request will
+      return;
+    }
+    if (!renewLock.tryLock()) {
+      // another refresh is in flight and will publish its own token
+      return;
+    }
+    AuthToken token = currentToken.get();
+    try {
+      if (token == null) {
+        return;
+      }
+      if (token.isUsable(System.currentTimeMillis())) {
+        AuthToken refreshed = publish(refreshToken());
+        TokenCache cache = tokenCache();
+        if (cache != null) {
+          cache.put(new CachedToken(refreshed.value, refreshed.expiresAt));
+        }
+      } else {
+        publish(authenticateShared(null));
+      }
+    } catch (RuntimeException e) {
+      LOG.warn("Background token refresh failed, retrying in {}s: {}", REFRESH_RETRY_DELAY / 1000, e.getMessage());
+      LOG.debug("{}", Utils.formatThrowable(e));
+      scheduleRefresh(REFRESH_RETRY_DELAY);
+    } finally {
+      renewLock.unlock();
+    }
+  }
+
+  /**
+   * Authenticates, or with the token cache enabled, takes a token another process has cached if it is still usable and
+   * caches the new token otherwise.
+   */
+  private byte[] authenticateShared(String rejectedToken) {
+    TokenCache cache = tokenCache();
+    if (cache == null) {
+      return authenticate();
+    }
+    CachedToken token = cache.getOrRenew(System.currentTimeMillis() + TOKEN_EXPIRED_WINDOW, rejectedToken,
+        () -> new CachedToken(new String(authenticate()), authTokenExpiresAt));
+    authTokenExpiresAt = token.getExpiresAt() == 0 ? null : token.getExpiresAt();
+    return token.getValue().getBytes();
+  }
+
+  private TokenCache tokenCache() {
+    if (connectionProperties == null || !connectionProperties.isAuthTokenCache()) {
+      return null;
+    }
+    String identity = tokenCacheIdentity();
+    String secret = identity == null ? null : tokenCacheSecret();
+    return StringUtils.isEmpty(secret) ? null
+        : new TokenCache(identity + "|" + connectionProperties.getAuthServiceUri(), secret);
+  }
+
+  private AuthToken publish(byte[] value) {
+    authToken = value;
+    AuthToken token = new AuthToken(new String(value), authTokenExpiresAt, System.currentTimeMillis());
+    tokenUsed = false;
+    currentToken.set(token);
+    if (token.expiresAt != null) {
+      scheduleRefresh(token.refreshAt - System.currentTimeMillis());
+    }
+    return token;
+  }
+
+  private void scheduleRefresh(long delay) {
+    ScheduledFuture<?> previous = scheduledRefresh;
+    if (previous != null) {
+      previous.cancel(false);
+    }
+    refreshQueued.set(true);
+    scheduledRefresh = refresher().schedule(this::refreshInBackground, Math.max(0, delay), TimeUnit.MILLISECONDS);
+  }
+
+  private static ScheduledThreadPoolExecutor refresher() {
+    if (refresher == null) {
+      synchronized (AbstractAuthenticator.class) {
+        if (refresher == null) {
+          ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+              Utils.daemonThreadFactory("anaplan-token-refresh"));
+          executor.setRemoveOnCancelPolicy(true);
+          refresher = executor;
+        }
+      }
+    }
+    return refresher;
+  }
+
+  /**
+   * An auth token and the times it must be refreshed and replaced by.
+   */
+  private static final class AuthToken {
+
+    private final String value;
+    private final Long expiresAt;
+    private final long refreshAt;
+
+    AuthToken(String value, Long expiresAt, long issuedAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+      // a token that lives no longer than the refresh window is refreshed half way through its life instead
+      this.refreshAt = expiresAt == null ? Long.MAX_VALUE
+          : Math.max(expiresAt - TOKEN_EXPIRATION_REFRESH_WINDOW, issuedAt + (expiresAt - issuedAt) / 2);
+    }
+
+    /**
+     * A token of unknown lifetime is used once only, as it always has been.
+     */
+    boolean isUsable(long now) {
+      return expiresAt != null && now < expiresAt - TOKEN_EXPIRED_WINDOW;
+    }
+  }
 }
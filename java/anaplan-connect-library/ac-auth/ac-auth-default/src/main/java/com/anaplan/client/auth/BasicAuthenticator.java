@@ -19,6 +19,16 @@ public class BasicAuthenticator extends AbstractAuthenticator {
     super(connectionProperties, authClient);
   }
 
+  @Override
+  protected String tokenCacheIdentity() {
+    return "basic|" + connectionProperties.getApiCredentials().getUserName();
+  }
+
+  @Override
+  protected String tokenCacheSecret() {
+    return connectionProperties.getApiCredentials().getPassPhrase();
+  }
+
   @Override
   public byte[] authenticate() {
     LOG.info("Authenticating via Basic...");
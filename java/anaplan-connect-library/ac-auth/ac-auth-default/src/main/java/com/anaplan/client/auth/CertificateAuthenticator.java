@@ -37,6 +37,22 @@ public class CertificateAuthenticator extends AbstractAuthenticator {
     super(connectionProperties, authClient);
   }
 
+  @Override
+  protected String tokenCacheIdentity() {
+    try {
+      return "certificate|" + Base64.getEncoder()
+          .encodeToString(connectionProperties.getApiCredentials().getCertificate().getEncoded());
+    } catch (CertificateEncodingException e) {
+      LOG.debug("Not caching the auth token, the certificate cannot be encoded: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  protected String tokenCacheSecret() {
+    return Base64.getEncoder().encodeToString(connectionProperties.getApiCredentials().getPrivateKey().getEncoded());
+  }
+
   @Override
   public byte[] authenticate() {
     LOG.info("Authenticating via Certificate...");
@@ -68,6 +68,19 @@ public class DeviceAuthenticator extends AbstractAuthenticator {
     }
   }
 
+  @Override
+  protected String tokenCacheIdentity() {
+    // a forced registration must not be answered with the token of the previous one
+    return connectionProperties.isForceRegister() || clientRefreshToken != null ? null
+        : "device|" + connectionProperties.getClientId();
+  }
+
+  @Override
+  protected String tokenCacheSecret() {
+    // until the device is registered there is no secret, and so no cache; a rotated refresh token misses it once
+    return Files.exists(Paths.get(store.getRefreshTokenKeyStorePath())) ? getDecodedRefreshToken() : null;
+  }
+
   /**
    * Clear JKS file
    */
@@ -259,12 +272,19 @@ public class DeviceAuthenticator extends AbstractAuthenticator {
     private final char[] keystorePass;
     public TokenStore(final String clientID) {
       refreshTokenKeyStoreName = String.format("ks_%s", Utils.bytesToHex(Utils.createHash(clientID)));
+      refreshTokenKeyStorePath = keystoreDirectory() + FileSystems.getDefault().getSeparator() + refreshTokenKeyStoreName + JKS;
+      keystorePass = CryptoUtil.encrypt(clientID).toCharArray();
+    }
+
+    /**
+     * @return the directory of the keystores, AC_OAUTH_KEYSTORE_DIR if set or else the user's home
+     */
+    public static String keystoreDirectory() {
       String keystoreDir = System.getProperty("user.home");
       if (StringUtils.isNotBlank(System.getenv("AC_OAUTH_KEYSTORE_DIR"))){
         keystoreDir = System.getenv("AC_OAUTH_KEYSTORE_DIR");
       }
-      refreshTokenKeyStorePath = keystoreDir + FileSystems.getDefault().getSeparator() + refreshTokenKeyStoreName + JKS;
-      keystorePass = CryptoUtil.encrypt(clientID).toCharArray();
+      return keystoreDir;
     }
 
     public String getRefreshTokenKeyStorePath() {
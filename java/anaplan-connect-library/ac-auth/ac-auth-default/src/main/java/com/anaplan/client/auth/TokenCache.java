@@ -0,0 +1,227 @@
+package com.anaplan.client.auth;
+
+import com.anaplan.client.Utils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the auth token of a set of credentials on disk, so that separate runs of the client can share a token instead
+ * of each authenticating again.
+ * <p>
+ * The token is kept next to the device refresh-token keystore, in a file named by a hash of who the credentials belong
+ * to and the auth service the token was issued by. None of that is secret: the token is encrypted with AES-GCM under a
+ * key derived by PBKDF2 from the secret of the credentials and a random salt stored at the head of the file, so a cache
+ * can only be read with the credentials it was written for. Processes sharing a cache take a lock on a file beside it
+ * while they check and renew the token, so only one of them authenticates and the others pick up its token.
+ */
+class TokenCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TokenCache.class);
+  private static final String KEY_DERIVATION = "PBKDF2WithHmacSHA256";
+  private static final int KEY_ITERATIONS = 210_000;
+  private static final int KEY_BITS = 256;
+  private static final String CIPHER = "AES/GCM/NoPadding";
+  private static final int SALT_BYTES = 16;
+  private static final int IV_BYTES = 12;
+  private static final int TAG_BITS = 128;
+  private static final SecureRandom RANDOM = new SecureRandom();
+  // file locks are held by the whole process, so threads of one process queue on these first
+  private static final Map<Path, ReentrantLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+  private final Path cacheFile;
+  private final Path lockFile;
+  private final byte[] associatedData;
+  private final char[] secret;
+
+  /**
+   * @param identity who the credentials belong to and the auth service the cached token is issued by, none of it secret
+   * @param secret   the secret of the credentials, which the cached token is encrypted with
+   */
+  TokenCache(String identity, String secret) {
+    String name = String.format("tc_%s", Utils.bytesToHex(Utils.createHash(identity)));
+    Path directory = Paths.get(DeviceAuthenticator.TokenStore.keystoreDirectory());
+    this.cacheFile = directory.resolve(name + ".token");
+    this.lockFile = directory.resolve(name + ".lock");
+    // binds the content to its file, so a cache copied over another is rejected
+    this.associatedData = name.getBytes(StandardCharsets.UTF_8);
+    this.secret = secret.toCharArray();
+  }
+
+  /**
+   * Returns the cached token if it is still good for use, otherwise the token from the supplier, which is then cached.
+   * The supplier is only called while holding the lock on the cache, so concurrent processes call it once between them.
+   *
+   * @param usableAt the time by which the cached token must not have expired
+   * @param rejected a cached token the server has rejected, which is not returned, or null
+   * @param supplier authenticates and returns a fresh token
+   * @return the token
+   */
+  CachedToken getOrRenew(long usableAt, String rejected, Supplier<CachedToken> supplier) {
+    CachedToken token = locked(() -> {
+      CachedToken cached = read();
+      if (cached != null && cached.getExpiresAt() > usableAt && !cached.getValue().equals(rejected)) {
+        LOG.debug("Reusing the cached auth token");
+        return cached;
+      }
+      CachedToken renewed = supplier.get();
+      write(renewed);
+      return renewed;
+    });
+    return token != null ? token : supplier.get();
+  }
+
+  /**
+   * Stores a token renewed without the lock, such as a background refresh.
+   *
+   * @param token the token
+   */
+  void put(CachedToken token) {
+    locked(() -> {
+      write(token);
+      return token;
+    });
+  }
+
+  /**
+   * Runs the action holding both the lock of this process and the lock on the cache file.
+   *
+   * @return the result of the action, or null if the cache file cannot be locked
+   */
+  private CachedToken locked(Supplier<CachedToken> action) {
+    ReentrantLock processLock = PROCESS_LOCKS.computeIfAbsent(lockFile, path -> new ReentrantLock());
+    processLock.lock();
+    try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      // released when the channel is closed
+      channel.lock();
+      return action.get();
+    } catch (IOException e) {
+      LOG.warn("Auth token cache {} is not available: {}", lockFile, e.getMessage());
+      return null;
+    } finally {
+      processLock.unlock();
+    }
+  }
+
+  private CachedToken read() {
+    if (!Files.exists(cacheFile)) {
+      return null;
+    }
+    try {
+      ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(cacheFile));
+      byte[] salt = new byte[SALT_BYTES];
+      byte[] iv = new byte[IV_BYTES];
+      content.get(salt).get(iv);
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.DECRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_BITS, iv));
+      cipher.updateAAD(associatedData);
+      byte[] plain = cipher.doFinal(content.array(), content.position(), content.remaining());
+      return CachedToken.decode(new String(plain, StandardCharsets.UTF_8));
+    } catch (IOException | GeneralSecurityException | RuntimeException e) {
+      LOG.debug("Ignoring unreadable auth token cache {}: {}", cacheFile, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Writes a temporary file and moves it over the cache, so a reader never sees a partly written cache. Each write
+   * draws a fresh salt and IV.
+   */
+  private void write(CachedToken token) {
+    if (token.getExpiresAt() == 0) {
+      return;
+    }
+    Path temporary = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+    try {
+      byte[] salt = new byte[SALT_BYTES];
+      byte[] iv = new byte[IV_BYTES];
+      RANDOM.nextBytes(salt);
+      RANDOM.nextBytes(iv);
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.ENCRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_BITS, iv));
+      cipher.updateAAD(associatedData);
+      byte[] sealed = cipher.doFinal(token.encode().getBytes(StandardCharsets.UTF_8));
+      Files.deleteIfExists(temporary);
+      Files.createFile(temporary);
+      restrictToOwner(temporary);
+      Files.write(temporary, ByteBuffer.allocate(salt.length + iv.length + sealed.length)
+          .put(salt).put(iv).put(sealed).array());
+      try {
+        Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | GeneralSecurityException e) {
+      LOG.warn("Could not cache the auth token in {}: {}", cacheFile, e.getMessage());
+    }
+  }
+
+  private SecretKey deriveKey(byte[] salt) throws GeneralSecurityException {
+    PBEKeySpec spec = new PBEKeySpec(secret, salt, KEY_ITERATIONS, KEY_BITS);
+    try {
+      byte[] key = SecretKeyFactory.getInstance(KEY_DERIVATION).generateSecret(spec).getEncoded();
+      return new SecretKeySpec(key, "AES");
+    } finally {
+      spec.clearPassword();
+    }
+  }
+
+  private static void restrictToOwner(Path file) throws IOException {
+    if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+    }
+  }
+
+  /**
+   * An auth token and its expiry time, 0 if unknown.
+   */
+  static final class CachedToken {
+
+    private final String value;
+    private final long expiresAt;
+
+    CachedToken(String value, Long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt == null ? 0 : expiresAt;
+    }
+
+    String getValue() {
+      return value;
+    }
+
+    long getExpiresAt() {
+      return expiresAt;
+    }
+
+    String encode() {
+      return expiresAt + ":" + value;
+    }
+
+    static CachedToken decode(String encoded) {
+      int separator = encoded.indexOf(':');
+      return new CachedToken(encoded.substring(separator + 1), Long.parseLong(encoded.substring(0, separator)));
+    }
+  }
+}
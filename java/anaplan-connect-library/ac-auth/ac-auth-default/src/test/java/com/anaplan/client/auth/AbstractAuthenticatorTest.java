@@ -0,0 +1,170 @@
+package com.anaplan.client.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.anaplan.client.transport.ConnectionProperties;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class AbstractAuthenticatorTest {
+
+  @Test
+  void testConcurrentReadsAuthenticateOnce() throws Exception {
+    CountingAuthenticator authenticator = new CountingAuthenticator(30 * 60 * 1000);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<String>> tokens = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        tokens.add(pool.submit(() -> {
+          start.await();
+          return authenticator.authToken();
+        }));
+      }
+      start.countDown();
+      for (Future<String> token : tokens) {
+        assertEquals("auth-1", token.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, authenticator.authentications.get());
+      assertEquals(0, authenticator.refreshes.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testExpiringTokenReplacedOnce() throws Exception {
+    // the first token is about to expire, the second one lasts
+    CountingAuthenticator authenticator = new CountingAuthenticator(30 * 1000, 30 * 60 * 1000);
+    assertEquals("auth-1", authenticator.authToken());
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<String>> tokens = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        tokens.add(pool.submit(() -> {
+          start.await();
+          return authenticator.authToken();
+        }));
+      }
+      start.countDown();
+      for (Future<String> token : tokens) {
+        assertEquals("auth-2", token.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(2, authenticator.authentications.get());
+      assertEquals(0, authenticator.refreshes.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testRejectedTokenReplacedOnce() throws Exception {
+    CountingAuthenticator authenticator = new CountingAuthenticator(30 * 60 * 1000);
+    String rejected = authenticator.authToken();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> retries = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        retries.add(pool.submit(() -> {
+          start.await();
+          authenticator.reauthenticate(rejected);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> retry : retries) {
+        retry.get(5, TimeUnit.SECONDS);
+      }
+      assertEquals(2, authenticator.authentications.get());
+      assertEquals("auth-2", authenticator.authToken());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testCachedTokenSharedBetweenSessions() throws Exception {
+    String home = System.getProperty("user.home");
+    Path directory = Files.createTempDirectory("token-cache");
+    System.setProperty("user.home", directory.toString());
+    try {
+      ConnectionProperties properties = new ConnectionProperties();
+      properties.setAuthTokenCache(true);
+      properties.setAuthServiceUri(URI.create("https://auth.anaplan.com"));
+      CountingAuthenticator first = new CountingAuthenticator(properties, 30 * 60 * 1000);
+      CountingAuthenticator second = new CountingAuthenticator(properties, 30 * 60 * 1000);
+      assertEquals("auth-1", first.authToken());
+      assertEquals("auth-1", second.authToken());
+      assertEquals(0, second.authentications.get());
+
+      // a rejected cached token is replaced rather than handed out again
+      second.reauthenticate("auth-1");
+      assertEquals(1, second.authentications.get());
+    } finally {
+      System.setProperty("user.home", home);
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
+  private static class CountingAuthenticator extends AbstractAuthenticator {
+
+    private final long[] lifetimes;
+    private final AtomicInteger authentications = new AtomicInteger();
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    CountingAuthenticator(long... lifetimes) {
+      this(new ConnectionProperties(), lifetimes);
+    }
+
+    CountingAuthenticator(ConnectionProperties properties, long... lifetimes) {
+      super(properties, null);
+      this.lifetimes = lifetimes;
+    }
+
+    @Override
+    protected String tokenCacheIdentity() {
+      return "counting";
+    }
+
+    @Override
+    protected String tokenCacheSecret() {
+      return "secret";
+    }
+
+    @Override
+    public byte[] authenticate() {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      int count = authentications.incrementAndGet();
+      authTokenExpiresAt = System.currentTimeMillis() + lifetimes[Math.min(count, lifetimes.length) - 1];
+      return ("auth-" + count).getBytes();
+    }
+
+    @Override
+    byte[] refreshToken() {
+      authTokenExpiresAt = System.currentTimeMillis() + 30 * 60 * 1000;
+      return ("refresh-" + refreshes.incrementAndGet()).getBytes();
+    }
+  }
+}
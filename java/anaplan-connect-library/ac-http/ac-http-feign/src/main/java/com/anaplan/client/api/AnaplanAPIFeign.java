@@ -33,9 +33,11 @@ import com.anaplan.client.dto.responses.ViewMetadataResponse;
 import com.anaplan.client.dto.responses.ViewsResponse;
 import com.anaplan.client.dto.responses.WorkspaceResponse;
 import com.anaplan.client.dto.responses.WorkspacesResponse;
+import com.anaplan.client.transport.interceptors.CompressPutBodyInjector;
 import feign.Headers;
 import feign.Param;
 import feign.RequestLine;
+import java.io.InputStream;
 
 /**
  * Created by Spondon Saha Date: 4/17/18 Time: 3:21 PM
@@ -98,6 +100,13 @@ public interface AnaplanAPIFeign extends AnaplanAPI {
       @Param("fileId") String fileId,
       @Param("chunkId") String chunkId);
 
+  @RequestLine("GET /workspaces/{workspaceId}/models/{modelId}/files/{fileId}/chunks/{chunkId}")
+  InputStream getChunkContentStream(
+      @Param("workspaceId") String workspaceId,
+      @Param("modelId") String modelId,
+      @Param("fileId") String fileId,
+      @Param("chunkId") String chunkId);
+
   @RequestLine("POST /workspaces/{workspaceId}/models/{modelId}/files/{fileId}")
   ServerFileResponse upsertFileDataSource(
       @Param("workspaceId") String workspaceId,
@@ -123,6 +132,15 @@ public interface AnaplanAPIFeign extends AnaplanAPI {
       @Param("chunkId") String chunkId,
       byte[] fileData);
 
+  @RequestLine("PUT /workspaces/{workspaceId}/models/{modelId}/files/{fileId}/chunks/{chunkId}")
+  @Headers({"Content-Type: application/x-gzip", CompressPutBodyInjector.PRECOMPRESSED_HEADER + ": true"})
+  void uploadChunkPrecompressed(
+      @Param("workspaceId") String workspaceId,
+      @Param("modelId") String modelId,
+      @Param("fileId") String fileId,
+      @Param("chunkId") String chunkId,
+      byte[] fileData);
+
   @RequestLine("POST /workspaces/{workspaceId}/models/{modelId}/files/{fileId}/complete")
   ServerFileResponse completeUpload(
       @Param("workspaceId") String workspaceId,
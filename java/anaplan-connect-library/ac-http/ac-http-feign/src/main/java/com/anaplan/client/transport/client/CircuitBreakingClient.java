@@ -0,0 +1,100 @@
+package com.anaplan.client.transport.client;
+
+import com.anaplan.client.exceptions.CircuitOpenException;
+import com.anaplan.client.transport.CircuitBreaker;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps the Feign client with one circuit breaker per group of endpoints, so an outage of, say, chunk transfers fails
+ * those calls fast without blocking task or metadata calls. Network errors and server errors (5xx) count as failures;
+ * any other response, including a 429, shows the server is up. A refused call throws a {@link CircuitOpenException},
+ * which Feign does not retry.
+ */
+public class CircuitBreakingClient implements Client {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CircuitBreakingClient.class);
+
+  /**
+   * The endpoint groups with a circuit breaker of their own
+   */
+  public enum EndpointGroup {
+    CHUNKS, TASKS, LISTS, METADATA;
+
+    /**
+     * @param url the request URL
+     * @return the group the endpoint belongs to
+     */
+    public static EndpointGroup of(String url) {
+      int query = url.indexOf('?');
+      String path = query < 0 ? url : url.substring(0, query);
+      // chunk transfers only; the listing, creation and completion of files are metadata calls
+      if (path.contains("/chunks")) {
+        return CHUNKS;
+      }
+      if (path.contains("/tasks")) {
+        return TASKS;
+      }
+      if (path.contains("/lists")) {
+        return LISTS;
+      }
+      return METADATA;
+    }
+  }
+
+  private final Client delegate;
+  private final Map<EndpointGroup, CircuitBreaker> breakers = new EnumMap<>(EndpointGroup.class);
+
+  /**
+   * @param delegate         the client that sends the requests
+   * @param failureThreshold the consecutive failures that open the circuit of a group
+   * @param openSeconds      how long a circuit stays open before a trial call
+   */
+  public CircuitBreakingClient(Client delegate, int failureThreshold, int openSeconds) {
+    this.delegate = delegate;
+    for (EndpointGroup group : EndpointGroup.values()) {
+      breakers.put(group, new CircuitBreaker(failureThreshold, openSeconds));
+    }
+  }
+
+  public CircuitBreaker getBreaker(EndpointGroup group) {
+    return breakers.get(group);
+  }
+
+  @Override
+  public Response execute(Request request, Request.Options options) throws IOException {
+    EndpointGroup group = EndpointGroup.of(request.url());
+    CircuitBreaker breaker = breakers.get(group);
+    long retryIn = breaker.tryAcquire();
+    if (retryIn > 0) {
+      throw new CircuitOpenException(group.name().toLowerCase(), retryIn);
+    }
+    Response response;
+    try {
+      response = delegate.execute(request, options);
+    } catch (IOException | RuntimeException e) {
+      recordFailure(group, breaker);
+      throw e;
+    }
+    if (response.status() >= 500) {
+      recordFailure(group, breaker);
+    } else {
+      breaker.onSuccess();
+    }
+    return response;
+  }
+
+  private static void recordFailure(EndpointGroup group, CircuitBreaker breaker) {
+    CircuitBreaker.State before = breaker.getState();
+    breaker.onFailure();
+    if (before != CircuitBreaker.State.OPEN && breaker.getState() == CircuitBreaker.State.OPEN) {
+      LOG.warn("Circuit opened for {} API calls after repeated failures", group.name().toLowerCase());
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.anaplan.client.transport.client;
 
+import com.anaplan.client.Constants;
+import com.anaplan.client.Utils;
 import com.anaplan.client.auth.Credentials;
 import com.anaplan.client.transport.ConnectionProperties;
 import com.anaplan.client.transport.NtlmAuthenticator;
@@ -7,25 +9,60 @@ import feign.Client;
 import feign.okhttp.OkHttpClient;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class OkHttpFeignClientProvider implements FeignClientProvider {
+public class OkHttpFeignClientProvider implements FeignClientProvider, AutoCloseable {
 
   private static final Logger LOG = LoggerFactory.getLogger(OkHttpFeignClientProvider.class);
 
   private static final String PROXY_AUTHORIZATION_HEADER = "Proxy-Authorization";
 
   /**
-   * Creates a Feign/OkHttp client for speaking to Auth-Service and sets up the appropriate proxy
-   * handler.
+   * Clients already built by this provider, keyed by the connection settings they were built from, so that a Service
+   * and its authenticator reuse one connection pool and its warm TLS sessions. The keys hold no secrets.
+   */
+  private final Map<List<Object>, okhttp3.OkHttpClient> clients = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the Feign/OkHttp client for speaking to Anaplan with the given connection settings, creating it on first
+   * use. The client is shared by every caller of this provider with the same settings, until the provider is closed.
    *
    * @return A Feign/OkHttp client
    */
   @Override
   public Client createFeignClient(ConnectionProperties properties) {
+    return new OkHttpClient(clients.computeIfAbsent(clientKey(properties), key -> buildOkHttpClient(properties)));
+  }
+
+  /**
+   * Closes the pooled connections and stops the dispatcher threads of every client built by this provider.
+   */
+  @Override
+  public void close() {
+    clients.values().forEach(client -> {
+      client.connectionPool().evictAll();
+      client.dispatcher().executorService().shutdown();
+    });
+    clients.clear();
+  }
+
+  /**
+   * Creates a Feign/OkHttp client for speaking to Auth-Service and sets up the appropriate proxy
+   * handler, connection pool and protocols.
+   *
+   * @return An OkHttp client
+   */
+  private okhttp3.OkHttpClient buildOkHttpClient(ConnectionProperties properties) {
     okhttp3.OkHttpClient.Builder okHttpBuilder = new okhttp3.OkHttpClient.Builder();
     if (properties.getProxyLocation() != null) {
       LOG.info("Setting up proxy...");
@@ -36,7 +73,37 @@ public class OkHttpFeignClientProvider implements FeignClientProvider {
     okHttpBuilder.connectTimeout(timeoutHTTP, TimeUnit.SECONDS)
         .readTimeout(timeoutHTTP, TimeUnit.SECONDS)
         .writeTimeout(timeoutHTTP, TimeUnit.SECONDS);
-    return new OkHttpClient(okHttpBuilder.build());
+    setupConnections(okHttpBuilder, properties);
+    return okHttpBuilder.build();
+  }
+
+  /**
+   * Sizes the connection pool and picks the protocols. HTTP/2 is negotiated over TLS unless disabled, letting parallel
+   * requests share one connection; over HTTP/1.1 each parallel request needs a pooled connection of its own. Feign calls
+   * are synchronous, so their concurrency is set by the callers' thread pools rather than OkHttp's dispatcher.
+   */
+  private void setupConnections(okhttp3.OkHttpClient.Builder okHttpBuilder, ConnectionProperties properties) {
+    int maxIdleConnections = Optional.ofNullable(properties.getMaxIdleConnections())
+        .orElse(Constants.DEFAULT_MAX_IDLE_CONNECTIONS);
+    int keepAlive = Optional.ofNullable(properties.getKeepAliveDuration())
+        .orElse(Constants.DEFAULT_KEEP_ALIVE_DURATION_SECS);
+    okHttpBuilder.connectionPool(new ConnectionPool(maxIdleConnections, keepAlive, TimeUnit.SECONDS));
+    okHttpBuilder.protocols(properties.isHttp2()
+        ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+        : Collections.singletonList(Protocol.HTTP_1_1));
+  }
+
+  private static List<Object> clientKey(ConnectionProperties properties) {
+    Credentials proxyCredentials = properties.getProxyCredentials();
+    return Arrays.asList(
+        properties.getProxyLocation(),
+        proxyCredentials == null ? null : Utils.bytesToHex(Utils.createHash(String.join("\n",
+            String.valueOf(proxyCredentials.getUserName()), String.valueOf(proxyCredentials.getPassPhrase()),
+            String.valueOf(proxyCredentials.getDomain()), String.valueOf(proxyCredentials.getWorkstation())))),
+        properties.getHttpTimeout(),
+        properties.getMaxIdleConnections(),
+        properties.getKeepAliveDuration(),
+        properties.isHttp2());
   }
 
   /**
@@ -9,13 +9,16 @@ import feign.Util;
 import feign.jackson.JacksonDecoder;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.Collection;
 
 /**
  * A brute extension of the default JacksonDecoder, except the raw-type is checked here whether its a byte array, in
- * which case it is decoded promptly using the {@link AnaplanByteArrayDeserializer}.
+ * which case it is decoded promptly using the {@link AnaplanByteArrayDeserializer}. An {@link InputStream} return type
+ * gets the response body stream itself, so the client must be built with <code>doNotCloseAfterDecode()</code> and this
+ * decoder closes the body of every other response itself.
  */
 public class AnaplanApiDecoder extends JacksonDecoder {
 
@@ -36,12 +39,19 @@ public class AnaplanApiDecoder extends JacksonDecoder {
 
       JavaType javaType = this.mapper.constructType(type);
 
-      if (javaType.isTypeOrSubTypeOf(byte[].class)) {
-        return new AnaplanByteArrayDeserializer().deserialize(body.asInputStream());
-      } else {
-        return decodeFromReader(body, response, javaType);
+      if (javaType.isTypeOrSubTypeOf(InputStream.class)) {
+        // handed to the caller unread, who is responsible for closing it
+        return body.asInputStream();
+      }
+      try {
+        if (javaType.isTypeOrSubTypeOf(byte[].class)) {
+          return new AnaplanByteArrayDeserializer().deserialize(body.asInputStream(), body.length());
+        } else {
+          return decodeFromReader(body, response, javaType);
+        }
+      } finally {
+        body.close();
       }
-
     }
   }
 
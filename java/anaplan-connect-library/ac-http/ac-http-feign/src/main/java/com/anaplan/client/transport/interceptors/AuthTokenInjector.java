@@ -9,6 +9,9 @@ import feign.RequestTemplate;
  */
 public class AuthTokenInjector implements RequestInterceptor {
 
+  public static final String AUTHORIZATION_HEADER = "AUTHORIZATION";
+  public static final String TOKEN_PREFIX = "AnaplanAuthToken ";
+
   private Authenticator authenticator;
 
   public AuthTokenInjector(Authenticator authenticator) {
@@ -22,6 +25,6 @@ public class AuthTokenInjector implements RequestInterceptor {
    */
   @Override
   public void apply(RequestTemplate template) {
-    template.header("AUTHORIZATION", "AnaplanAuthToken " + authenticator.authToken());
+    template.header(AUTHORIZATION_HEADER, TOKEN_PREFIX + authenticator.authToken());
   }
 }
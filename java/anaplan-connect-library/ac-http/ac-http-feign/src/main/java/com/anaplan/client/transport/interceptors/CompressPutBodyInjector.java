@@ -1,23 +1,38 @@
 package com.anaplan.client.transport.interceptors;
 
-import com.anaplan.client.exceptions.BadFileChunkCompressionError;
+import com.anaplan.client.transport.ChunkCompressor;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Optional;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Compresses the file-chunk PUT request if using X-Gzip compression, otherwise passes on the raw
- * value.
+ * value. A chunk the caller has already compressed is marked with {@link #PRECOMPRESSED_HEADER}, which is removed here
+ * and its body sent as is; every other X-Gzip body is compressed, whatever its content looks like.
  */
 public class CompressPutBodyInjector implements RequestInterceptor {
 
+  /**
+   * Marks a chunk body that is already gzip encoded. Only read by this interceptor and never sent to the server.
+   */
+  public static final String PRECOMPRESSED_HEADER = "X-Anaplan-Connect-Precompressed";
+
+  private final ChunkCompressor compressor;
+
+  public CompressPutBodyInjector() {
+    this(ChunkCompressor.DEFAULT);
+  }
+
+  /**
+   * @param compressor the gzip level and parallelism used for chunk bodies that are not marked as precompressed
+   */
+  public CompressPutBodyInjector(ChunkCompressor compressor) {
+    this.compressor = compressor;
+  }
+
   @Override
   public void apply(RequestTemplate requestTemplate) {
 
@@ -27,27 +42,13 @@ public class CompressPutBodyInjector implements RequestInterceptor {
       if (contentTypes != null &&
           ("application/x-gzip".equals(contentTypes.toArray()[0]) || "x-gzip"
               .equals(contentTypes.toArray()[0]))) {
+        if (requestTemplate.headers().containsKey(PRECOMPRESSED_HEADER)) {
+          requestTemplate.header(PRECOMPRESSED_HEADER);
+          return;
+        }
         Charset charset = Optional.ofNullable(requestTemplate.charset()).orElse(StandardCharsets.UTF_8);
-        requestTemplate.body(compress(requestTemplate.body()), charset);
-      }
-    }
-  }
-
-  private byte[] compress(byte[] source) {
-    int head = (source[0] & 0xff) | ((source[1] << 8) & 0xff00);
-    ByteArrayOutputStream sink = new ByteArrayOutputStream();
-    //check if matches standard gzip magic number
-    if (GZIPInputStream.GZIP_MAGIC != head) {
-      try {
-        GZIPOutputStream gzos = new GZIPOutputStream(sink);
-        gzos.write(source, 0, source.length);
-        gzos.close();
-        return sink.toByteArray();
-      } catch (IOException e) {
-        throw new BadFileChunkCompressionError(e);
+        requestTemplate.body(compressor.compress(requestTemplate.body()), charset);
       }
-    } else {
-      return source;
     }
   }
 }
@@ -0,0 +1,22 @@
+package com.anaplan.client.transport.interceptors;
+
+import com.anaplan.client.transport.AdaptiveRateLimiter;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Holds each request, including every retry, until the shared rate limiter lets it through.
+ */
+public class RateLimitInjector implements RequestInterceptor {
+
+  private final AdaptiveRateLimiter rateLimiter;
+
+  public RateLimitInjector(AdaptiveRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public void apply(RequestTemplate template) {
+    rateLimiter.acquire();
+  }
+}
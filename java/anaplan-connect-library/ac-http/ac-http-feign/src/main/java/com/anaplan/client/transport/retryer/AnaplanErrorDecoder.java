@@ -4,6 +4,8 @@ import com.anaplan.client.Constants;
 import com.anaplan.client.Utils;
 import com.anaplan.client.auth.Authenticator;
 import com.anaplan.client.exceptions.AnaplanAPIException;
+import com.anaplan.client.transport.AdaptiveRateLimiter;
+import com.anaplan.client.transport.interceptors.AuthTokenInjector;
 import feign.Response;
 import feign.RetryableException;
 import feign.Util;
@@ -19,9 +21,19 @@ public class AnaplanErrorDecoder implements ErrorDecoder {
 
   private static final Logger LOG = LoggerFactory.getLogger(AnaplanErrorDecoder.class);
   private Authenticator authenticator;
+  private final AdaptiveRateLimiter rateLimiter;
 
   public AnaplanErrorDecoder(Authenticator authenticator){
+    this(authenticator, null);
+  }
+
+  /**
+   * @param authenticator the authenticator used to renew an expired token
+   * @param rateLimiter   the limiter told about every HTTP 429, or null
+   */
+  public AnaplanErrorDecoder(Authenticator authenticator, AdaptiveRateLimiter rateLimiter) {
     this.authenticator = authenticator;
+    this.rateLimiter = rateLimiter;
   }
 
   /**
@@ -42,6 +54,9 @@ public class AnaplanErrorDecoder implements ErrorDecoder {
     }
     if (status >= 500 || status == 429) {
       message = "HTTP " + response.status() + " " + response.reason() + ": " + response.request().url();
+      if (status == 429 && rateLimiter != null) {
+        rateLimiter.onThrottled(retryDate);
+      }
       if (status == 429 && retryDate != null) {
         LOG.info("API request rate limited, trying again after {} seconds",
             (retryDate.getTime() - new Date().getTime()) / 1000);
@@ -55,9 +70,9 @@ public class AnaplanErrorDecoder implements ErrorDecoder {
     } else if (status == 401 && response.body() != null) {
       if (authenticator == null) {
         AnaplanAPIException exceptionMessage = getAnaplanAPIException(response);
-        if (exceptionMessage != null) return exceptionMessage;
+        return exceptionMessage != null ? exceptionMessage : new AnaplanAPIException(response.reason(), status);
       }
-      authenticator.setAuthToken(authenticator.authenticate());
+      authenticator.reauthenticate(rejectedToken(response));
       message = "HTTP " + response.status() + " " + response.reason() + ": " + response.request().url();
       return new RetryableException(message, response.request().httpMethod(), retryDate);
     }
@@ -65,6 +80,19 @@ public class AnaplanErrorDecoder implements ErrorDecoder {
   }
 
 
+  /**
+   * @return the auth token the request was sent with, or null if it had none
+   */
+  private static String rejectedToken(Response response) {
+    Collection<String> authorization = response.request().headers().get(AuthTokenInjector.AUTHORIZATION_HEADER);
+    if (CollectionUtils.isEmpty(authorization)) {
+      return null;
+    }
+    String header = authorization.iterator().next();
+    return header.startsWith(AuthTokenInjector.TOKEN_PREFIX)
+        ? header.substring(AuthTokenInjector.TOKEN_PREFIX.length()) : null;
+  }
+
   private static AnaplanAPIException getAnaplanAPIException(Response response) {
     String message;
     try {
@@ -3,12 +3,17 @@ package com.anaplan.client.transport.retryer;
 import com.anaplan.client.Constants;
 import feign.RetryableException;
 import feign.Retryer;
+import java.util.concurrent.ThreadLocalRandom;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Feign retryer that emulates Spring's BackoffExponentialPolicy for setting intervals/periods between attempts.
+ * Feign retryer with exponential backoff and decorrelated jitter between attempts. Workers that fail together therefore
+ * retry at different times instead of colliding again.
+ * <p>
+ * Retries without a server-provided <code>Retry-After</code> also draw on a {@link RetryBudget} shared by every clone, so
+ * a backend failing for many requests at once sees a bounded number of retries rather than a multiple of its load.
  */
 public class FeignApiRetryer extends Retryer.Default {
 
@@ -24,12 +29,23 @@ public class FeignApiRetryer extends Retryer.Default {
   private final Integer maxAttempts;
   private int retries;
   private final Double backoffMultiplier;
+  private final RetryBudget retryBudget;
+  private long lastInterval;
 
   public FeignApiRetryer(@Nullable Long period, @Nullable Long maxPeriod, @Nullable Integer maxAttempts, @Nullable Double backoffMultiplier) {
+    this(period, maxPeriod, maxAttempts, backoffMultiplier, null);
+  }
+
+  /**
+   * @param retryBudget the retry budget shared by every request of the client, or null for none
+   */
+  public FeignApiRetryer(@Nullable Long period, @Nullable Long maxPeriod, @Nullable Integer maxAttempts,
+      @Nullable Double backoffMultiplier, @Nullable RetryBudget retryBudget) {
     this.period = (period == null) ? DEFAULT_PERIOD : period;
     this.maxPeriod = (maxPeriod == null) ? DEFAULT_MAX_PERIOD : maxPeriod;
     this.maxAttempts = (maxAttempts == null) ? DEFAULT_MAX_ATTEMPTS : maxAttempts;
     this.backoffMultiplier = (backoffMultiplier == null) ? DEFAULT_BACKOFF_MULTIPLIER : backoffMultiplier;
+    this.retryBudget = retryBudget;
   }
 
   /**
@@ -44,6 +60,9 @@ public class FeignApiRetryer extends Retryer.Default {
   public void continueOrPropagate(RetryableException e) {
     if (this.retries++ >= this.maxAttempts) {
       throw e;
+    } else if (e.retryAfter() == null && retryBudget != null && !retryBudget.tryAcquire()) {
+      LOG.info("Retry budget exhausted, not retrying API request");
+      throw e;
     } else {
       LOG.info("Retrying API request: Attempt ({})", this.retries);
       LOG.debug("Request details: {}", e.getMessage());
@@ -57,7 +76,8 @@ public class FeignApiRetryer extends Retryer.Default {
           return;
         }
       } else {
-        interval = this.nextMaxInterval(period, backoffMultiplier, retries, maxPeriod);
+        interval = this.nextJitteredInterval();
+        lastInterval = interval;
       }
       try {
         Thread.sleep(interval);
@@ -68,17 +88,22 @@ public class FeignApiRetryer extends Retryer.Default {
   }
 
   /**
-   * Implements Spring's ExponentialBackOffPolicy with some modifications
+   * Decorrelated jitter: a random wait between the base period and twice the backoff multiplier times the previous wait
+   * (three times with the default multiplier), capped by the max period. The waits grow exponentially on average, as
+   * with Spring's ExponentialBackOffPolicy, but no two workers follow the same schedule.
    *
-   * @return An interval that is set by the backOffMultiplier
+   * @return the interval to wait
    */
-  private long nextMaxInterval(final Long period, final Double backoffMultiplier, final int retries, final Long maxPeriod) {
-    long interval = (long) ((double) period * Math.pow(backoffMultiplier, (retries - 1)));
-    return interval > maxPeriod ? maxPeriod : interval;
+  private long nextJitteredInterval() {
+    long upper = (long) Math.min(maxPeriod, Math.max(period, lastInterval) * backoffMultiplier * 2);
+    if (upper <= period) {
+      return Math.min(period, maxPeriod);
+    }
+    return ThreadLocalRandom.current().nextLong(period, upper + 1);
   }
 
   @Override
   public Retryer clone() {
-    return new FeignApiRetryer(period, maxPeriod, maxAttempts, backoffMultiplier);
+    return new FeignApiRetryer(period, maxPeriod, maxAttempts, backoffMultiplier, retryBudget);
   }
 }
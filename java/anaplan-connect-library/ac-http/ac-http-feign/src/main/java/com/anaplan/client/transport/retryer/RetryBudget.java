@@ -0,0 +1,43 @@
+package com.anaplan.client.transport.retryer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket of retries shared by every request of one API client. Each retry takes a token and tokens refill
+ * steadily over the window, so however many requests fail together, no more than <code>maxRetries</code> retries are
+ * sent to a degraded backend per window on top of the requests themselves.
+ */
+public class RetryBudget {
+
+  private final double capacity;
+  private final double refillPerNano;
+  private double tokens;
+  private long lastRefillNanos;
+
+  /**
+   * @param maxRetries    the retries allowed per window, which is also the burst allowed at once
+   * @param windowSeconds the time over which a spent budget refills
+   */
+  public RetryBudget(int maxRetries, int windowSeconds) {
+    this.capacity = maxRetries;
+    this.refillPerNano = maxRetries / (double) TimeUnit.SECONDS.toNanos(windowSeconds);
+    this.tokens = maxRetries;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /**
+   * Takes a retry from the budget.
+   *
+   * @return false if the budget is spent and the request should fail instead of retrying
+   */
+  public synchronized boolean tryAcquire() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+    lastRefillNanos = now;
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+}
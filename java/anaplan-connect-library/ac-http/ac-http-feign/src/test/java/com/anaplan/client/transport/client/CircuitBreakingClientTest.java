@@ -0,0 +1,58 @@
+package com.anaplan.client.transport.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.anaplan.client.exceptions.CircuitOpenException;
+import com.anaplan.client.transport.CircuitBreaker;
+import com.anaplan.client.transport.client.CircuitBreakingClient.EndpointGroup;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakingClientTest {
+
+  private static final String MODEL_URL = "https://api.anaplan.com/2/0/workspaces/ws/models/model";
+
+  @Test
+  void testOnlyChunkTransfersUseChunksBreaker() {
+    assertEquals(EndpointGroup.CHUNKS, EndpointGroup.of(MODEL_URL + "/files/113000000001/chunks/0"));
+    assertEquals(EndpointGroup.CHUNKS, EndpointGroup.of(MODEL_URL + "/files/113000000001/chunks?offset=0"));
+    assertEquals(EndpointGroup.METADATA, EndpointGroup.of(MODEL_URL + "/files?offset=0"));
+    assertEquals(EndpointGroup.METADATA, EndpointGroup.of(MODEL_URL + "/files/113000000001"));
+    assertEquals(EndpointGroup.METADATA, EndpointGroup.of(MODEL_URL + "/files/113000000001/complete"));
+  }
+
+  @Test
+  void testHalfOpenTrialWithClientErrorClosesBreaker() throws Exception {
+    Queue<Integer> statuses = new ArrayDeque<>(Arrays.asList(503, 404));
+    CircuitBreakingClient client = new CircuitBreakingClient(
+        (request, options) -> response(request, statuses.remove()), 1, 1);
+    Request request = Request.create(HttpMethod.GET, MODEL_URL + "/files/113000000001/chunks/0",
+        Collections.emptyMap(), null, StandardCharsets.UTF_8);
+    CircuitBreaker breaker = client.getBreaker(EndpointGroup.CHUNKS);
+
+    assertEquals(503, client.execute(request, new Request.Options()).status());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertThrows(CircuitOpenException.class, () -> client.execute(request, new Request.Options()));
+
+    Thread.sleep(1100);
+    // the server answered the trial call, so it is up even though the request was wrong
+    assertEquals(404, client.execute(request, new Request.Options()).status());
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  private static Response response(Request request, int status) {
+    return Response.builder()
+        .status(status)
+        .headers(Collections.emptyMap())
+        .request(request)
+        .build();
+  }
+}
@@ -3,19 +3,29 @@ package com.anaplan.client;
 import com.anaplan.client.api.AnaplanAPI;
 import com.anaplan.client.api.AnaplanAPIFeign;
 import com.anaplan.client.auth.Authenticator;
+import com.anaplan.client.transport.AdaptiveRateLimiter;
+import com.anaplan.client.transport.ChunkCompressor;
 import com.anaplan.client.transport.ConnectionProperties;
+import com.anaplan.client.transport.client.CircuitBreakingClient;
 import com.anaplan.client.transport.decoders.AnaplanApiDecoder;
 import com.anaplan.client.transport.encoders.AnaplanApiEncoder;
 import com.anaplan.client.transport.interceptors.AConnectHeaderInjector;
 import com.anaplan.client.transport.interceptors.AuthTokenInjector;
 import com.anaplan.client.transport.interceptors.CompressPutBodyInjector;
+import com.anaplan.client.transport.interceptors.RateLimitInjector;
 import com.anaplan.client.transport.interceptors.UserAgentInjector;
 import com.anaplan.client.transport.retryer.AnaplanErrorDecoder;
 import com.anaplan.client.transport.retryer.FeignApiRetryer;
+import com.anaplan.client.transport.retryer.RetryBudget;
 import feign.Client;
 import feign.Feign;
 import feign.Request;
 import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -24,12 +34,16 @@ import java.util.function.Supplier;
  * AnaplanByteArrayDeserializer classes. If proxy details are provided, then tunnels the API connection through it using
  * either regular or NTLM proxy.
  */
-public class AnaplanApiProviderImpl implements Supplier<AnaplanAPI> {
+public class AnaplanApiProviderImpl implements Supplier<AnaplanAPI>, AutoCloseable {
 
   private final Authenticator authenticator;
   private ConnectionProperties connectionProperties;
   private Supplier<Client> clientSupplier;
-  private AnaplanAPI apiClient;
+  private volatile AnaplanAPI apiClient;
+  private volatile Executor asyncExecutor;
+  private ExecutorService ownedAsyncExecutor;
+  private ChunkCompressor chunkCompressor;
+  private AutoCloseable clientResources;
   private String clientKey;
   private String clientValue;
 
@@ -43,42 +57,136 @@ public class AnaplanApiProviderImpl implements Supplier<AnaplanAPI> {
   }
 
   /**
-   * Generates the Feign client for communicating with Anaplan APIs
+   * Generates the Feign client for communicating with Anaplan APIs. Only the first call takes the lock, so that threads
+   * racing to it still share a single client, with a single rate limiter, retry budget and circuit breaker; every call
+   * after returns the built client without locking.
    *
    * @return AnaplanAPi
    */
   @Override
   public AnaplanAPI get() {
-    if (apiClient == null) {
-      int httpTimeout = connectionProperties.getHttpTimeout() == null ? 0 : connectionProperties.getHttpTimeout() * 1000;
-      apiClient = Feign.builder()
-          .client(clientSupplier.get())
-          .encoder(new AnaplanApiEncoder(ObjectMapperProvider.getObjectMapper()))
-          .decoder(new AnaplanApiDecoder(ObjectMapperProvider.getObjectMapper()))
-          .requestInterceptors(Arrays.asList(
-              new AuthTokenInjector(authenticator),
-              new UserAgentInjector(),
-              new AConnectHeaderInjector(clientKey, clientValue),
-              new CompressPutBodyInjector()))
-          .options(new Request.Options(
-              httpTimeout,
-              httpTimeout
-          ))
-          .retryer(new FeignApiRetryer(
-              connectionProperties.getRetryTimeout() == null ? null : connectionProperties.getRetryTimeout() * 1000L,
-              Constants.MAX_RETRY_TIMEOUT_SECS * 1000L,
-              connectionProperties.getMaxRetryCount(),
-              FeignApiRetryer.DEFAULT_BACKOFF_MULTIPLIER))
-          .errorDecoder(new AnaplanErrorDecoder(authenticator))
-          .target(AnaplanAPIFeign.class,
-              connectionProperties.getApiServicesUri().toString() + "/" + connectionProperties.getMajor() + "/"
-                  + connectionProperties.getMinor());
+    AnaplanAPI client = apiClient;
+    if (client == null) {
+      synchronized (this) {
+        client = apiClient;
+        if (client == null) {
+          client = createApiClient();
+          apiClient = client;
+        }
+      }
     }
-    return apiClient;
+    return client;
   }
 
-  public void setApiClient(AnaplanAPI apiClient) {
+  private AnaplanAPI createApiClient() {
+    int httpTimeout = connectionProperties.getHttpTimeout() == null ? 0 : connectionProperties.getHttpTimeout() * 1000;
+    // one limiter per client, so every thread of the Service is paced together
+    AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(connectionProperties.getMaxRequestsPerSecond());
+    chunkCompressor = ChunkCompressor.from(connectionProperties, ExecutorProvider.from(connectionProperties));
+    return Feign.builder()
+        .client(new CircuitBreakingClient(clientSupplier.get(),
+            Optional.ofNullable(connectionProperties.getCircuitFailureThreshold())
+                .orElse(Constants.DEFAULT_CIRCUIT_FAILURE_THRESHOLD),
+            Optional.ofNullable(connectionProperties.getCircuitOpenDuration())
+                .orElse(Constants.DEFAULT_CIRCUIT_OPEN_SECS)))
+        .encoder(new AnaplanApiEncoder(ObjectMapperProvider.getObjectMapper()))
+        .decoder(new AnaplanApiDecoder(ObjectMapperProvider.getObjectMapper()))
+        .doNotCloseAfterDecode()
+        .requestInterceptors(Arrays.asList(
+            new RateLimitInjector(rateLimiter),
+            new AuthTokenInjector(authenticator),
+            new UserAgentInjector(),
+            new AConnectHeaderInjector(clientKey, clientValue),
+            new CompressPutBodyInjector(chunkCompressor)))
+        .options(new Request.Options(
+            httpTimeout,
+            httpTimeout
+        ))
+        .retryer(new FeignApiRetryer(
+            connectionProperties.getRetryTimeout() == null ? null : connectionProperties.getRetryTimeout() * 1000L,
+            Constants.MAX_RETRY_TIMEOUT_SECS * 1000L,
+            connectionProperties.getMaxRetryCount(),
+            FeignApiRetryer.DEFAULT_BACKOFF_MULTIPLIER,
+            new RetryBudget(
+                Optional.ofNullable(connectionProperties.getRetryBudget()).orElse(Constants.DEFAULT_RETRY_BUDGET),
+                Constants.RETRY_BUDGET_WINDOW_SECS)))
+        .errorDecoder(new AnaplanErrorDecoder(authenticator, rateLimiter))
+        .target(AnaplanAPIFeign.class,
+            connectionProperties.getApiServicesUri().toString() + "/" + connectionProperties.getMajor() + "/"
+                + connectionProperties.getMinor());
+  }
+
+  /**
+   * Runs calls to the Anaplan APIs off the calling thread, such as
+   * <code>provider.async(api -&gt; api.getImports(workspaceId, modelId, 0))</code>. The call still blocks, on a thread
+   * of the async executor, which by default is a bounded pool of daemon threads, or virtual threads when they are
+   * enabled in the connection properties; the caller only waits if it joins the future.
+   *
+   * @param call the requests to issue through the client returned by {@link #get()}
+   * @param <T>  the type of the result
+   * @return a future completed with the result of the call, or exceptionally with what it threw
+   */
+  public <T> CompletableFuture<T> async(Function<AnaplanAPI, T> call) {
+    return CompletableFuture.supplyAsync(() -> call.apply(get()), asyncExecutor());
+  }
+
+  private Executor asyncExecutor() {
+    Executor executor = asyncExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = asyncExecutor;
+        if (executor == null) {
+          ownedAsyncExecutor = ExecutorProvider.from(connectionProperties)
+              .newBlockingExecutor("anaplan-async-api", Constants.DEFAULT_ASYNC_API_THREADS);
+          executor = ownedAsyncExecutor;
+          asyncExecutor = executor;
+        }
+      }
+    }
+    return executor;
+  }
+
+  public synchronized void setApiClient(AnaplanAPI apiClient) {
     this.apiClient = apiClient;
   }
 
+  /**
+   * Sets the executor the asynchronous API runs its calls on, in place of the default pool.
+   *
+   * @param asyncExecutor the executor, which must be set before the first call to {@link #async(Function)}
+   */
+  public synchronized void setAsyncExecutor(Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  /**
+   * Sets what holds the connections of the HTTP clients, such as their connection pools, to be released on
+   * {@link #close()}.
+   *
+   * @param clientResources the resources of the clients this provider gets from its client supplier
+   */
+  public synchronized void setClientResources(AutoCloseable clientResources) {
+    this.clientResources = clientResources;
+  }
+
+  /**
+   * Stops the default pool of the asynchronous API and the chunk compression threads, and releases the connections of
+   * the HTTP clients. The provider must not be used afterwards.
+   */
+  @Override
+  public synchronized void close() throws Exception {
+    if (chunkCompressor != null) {
+      chunkCompressor.close();
+      chunkCompressor = null;
+    }
+    if (ownedAsyncExecutor != null) {
+      ownedAsyncExecutor.shutdown();
+      ownedAsyncExecutor = null;
+    }
+    if (clientResources != null) {
+      clientResources.close();
+      clientResources = null;
+    }
+  }
+
 }
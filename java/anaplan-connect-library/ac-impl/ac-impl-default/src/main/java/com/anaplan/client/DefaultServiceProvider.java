@@ -31,6 +31,8 @@ public class DefaultServiceProvider {
         .getAuthenticator(properties, authApiProvider.getAuthClient());
 
     AnaplanApiProviderImpl apiProvider = new AnaplanApiProviderImpl(properties, clientSupplier, authenticator, clientKey, clientValue);
+    // released when the Service is closed
+    apiProvider.setClientResources(okHttpClientProvider);
 
     return new Service(properties, authenticator, apiProvider);
   }
@@ -13,6 +13,8 @@ import com.anaplan.client.Export;
 import com.anaplan.client.Import;
 import com.anaplan.client.Model;
 import com.anaplan.client.Process;
+import com.anaplan.client.TaskExecutor;
+import com.anaplan.client.TaskHandle;
 import com.anaplan.client.TaskParameters;
 import com.anaplan.client.TaskResult;
 import com.anaplan.client.dto.ActionData;
@@ -25,6 +27,9 @@ import com.anaplan.client.dto.responses.ImportsResponse;
 import com.anaplan.client.dto.responses.ProcessesResponse;
 import com.anaplan.client.dto.responses.TaskResponse;
 import com.anaplan.client.dto.responses.TaskStatusResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Matchers;
@@ -148,4 +153,29 @@ class ActionTest extends BaseTest {
     assertFalse(nestedResult.isFailureDumpAvailable());
   }
 
+  @Test
+  void testTasksTrackedConcurrently() throws Exception {
+    when(mockModel.getApi().getActions(mockModel.getWorkspace().getId(),
+        mockModel.getId(), 0))
+        .thenReturn(createFeignResponse(listOfActionsResponseJson, ActionsResponse.class));
+    Action mockAction = mockModel.getAction("Action 0");
+    when(mockModel.getApi().createActionTask(
+        Matchers.anyString(), Matchers.anyString(), Matchers.anyString(),
+        Matchers.any(ActionData.class)))
+        .thenReturn(createFeignResponse(createTaskResponseJson, TaskResponse.class));
+    when(mockModel.getApi().getActionTaskStatus(
+        mockModel.getWorkspace().getId(), mockModel.getId(), mockAction.getId(),
+        "task-id"))
+        .thenReturn(createFeignResponse(taskSuccessResponseJson, TaskStatusResponse.class));
+
+    TaskExecutor taskExecutor = getMockService().getTaskExecutor();
+    List<TaskHandle> handles = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      handles.add(taskExecutor.submit(mockAction.createTask(new TaskParameters())));
+    }
+    for (TaskHandle handle : handles) {
+      assertTrue(handle.getResult(10, TimeUnit.SECONDS).isSuccessful());
+    }
+    assertTrue(taskExecutor.getRunningTasks().isEmpty());
+  }
 }
@@ -163,6 +163,8 @@ public abstract class BaseTest {
       props.setAuthServiceUri(new URI(mockAuthServiceUrl));
       props.setApiServicesUri(serviceLocation);
       props.setApiCredentials(correctCredentials);
+      // the catalog is off by default; the tests cover it reusing listings
+      props.setMetadataCacheTtl(300);
 
       if (properties.containsKey("proxy.location")) {
         String proxyLocation = properties.getString("proxy.location");
@@ -3,11 +3,14 @@ package com.anaplan.client.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.anaplan.client.Action;
 import com.anaplan.client.Export;
 import com.anaplan.client.Import;
+import com.anaplan.client.MetadataCatalog;
 import com.anaplan.client.Model;
 import com.anaplan.client.Module;
 import com.anaplan.client.Process;
@@ -160,4 +163,21 @@ class ModelTest extends BaseTest {
     process1 = mockModel.getProcess(process1Id);
     assertEquals("Process 1", process1.getName());
   }
+
+  @Test
+  void testModelResolvesImportsFromCatalog() throws Exception {
+    assertNotNull(mockModel);
+    String workspaceId = mockModel.getWorkspace().getId();
+    when(mockModel.getApi().getImports(workspaceId, mockModel.getId(), 0))
+        .thenReturn(
+            createFeignResponse("responses/list_of_imports_response.json", ImportsResponse.class));
+    String import0Id = mockModel.getImport("List 0 from File 0").getId();
+    assertEquals(import0Id, mockModel.getImport(import0Id).getId());
+    assertEquals("Module 0 from File 0", mockModel.getImport("MODULE 0 FROM FILE 0").getName());
+    verify(mockModel.getApi(), times(1)).getImports(workspaceId, mockModel.getId(), 0);
+
+    getMockService().getMetadataCatalog().invalidate(MetadataCatalog.scope(workspaceId, mockModel.getId()));
+    assertEquals(import0Id, mockModel.getImport(import0Id).getId());
+    verify(mockModel.getApi(), times(2)).getImports(workspaceId, mockModel.getId(), 0);
+  }
 }
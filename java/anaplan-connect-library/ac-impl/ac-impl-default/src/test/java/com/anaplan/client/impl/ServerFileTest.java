@@ -11,6 +11,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
+import com.anaplan.client.ChunkBoundaryDetector;
 import com.anaplan.client.Model;
 import com.anaplan.client.ServerFile;
 import com.anaplan.client.api.AnaplanAPI;
@@ -19,16 +20,21 @@ import com.anaplan.client.dto.responses.ChunksResponse;
 import com.anaplan.client.dto.responses.ServerFileResponse;
 import com.anaplan.client.dto.responses.ServerFilesResponse;
 import com.anaplan.client.exceptions.AnaplanAPIException;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Objects;
@@ -95,6 +101,60 @@ class ServerFileTest extends BaseTest {
     assertEquals("test", Files.asCharSource(check0v1, Charset.defaultCharset()).read());
   }
 
+  @Test
+  void testConcurrentDownloadKeepsChunkOrder() throws Exception {
+    doReturn(createFeignResponse(multiChunksResponseFile, ChunksResponse.class))
+        .when(anaplanAPI)
+        .getChunks(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId());
+    doReturn("first,".getBytes())
+        .when(anaplanAPI)
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "0");
+    doReturn("second".getBytes())
+        .when(anaplanAPI)
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "1");
+    File target = getTempFolderPath().resolve("concurrent_download.txt").toFile();
+    mockServerFile.downLoad(target, true, 4);
+    assertEquals("first,second", Files.asCharSource(target, Charset.defaultCharset()).read());
+  }
+
+  @Test
+  void testResumedDownloadSkipsWrittenChunks() throws Exception {
+    doReturn(createFeignResponse(multiChunksResponseFile, ChunksResponse.class))
+        .when(anaplanAPI)
+        .getChunks(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId());
+    doReturn("first,".getBytes())
+        .when(anaplanAPI)
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "0");
+    Mockito.doThrow(new AnaplanAPIException("connection reset"))
+        .doReturn("second".getBytes())
+        .when(anaplanAPI)
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "1");
+    File target = getTempFolderPath().resolve("resumed_download.txt").toFile();
+    assertThrows(AnaplanAPIException.class, () -> mockServerFile.downLoad(target, true, 1, true));
+
+    mockServerFile.downLoad(target, true, 1, true);
+    assertEquals("first,second", Files.asCharSource(target, Charset.defaultCharset()).read());
+    Mockito.verify(anaplanAPI, new Times(1))
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "0");
+    assertTrue(!new File(target.getParentFile(), ".partial." + target.getName() + ".manifest").exists());
+  }
+
+  @Test
+  void testWriteChunkContentStreamsIntoFileChannel() throws Exception {
+    doReturn(new ByteArrayInputStream("streamed".getBytes()))
+        .when(anaplanAPI)
+        .getChunkContentStream(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "0");
+    Path target = getTempFolderPath().resolve("streamed_chunk.txt");
+    try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap("pre-".getBytes()));
+      assertEquals(8, mockServerFile.writeChunkContent("0", channel));
+      assertEquals(12, channel.position());
+    }
+    assertEquals("pre-streamed", Files.asCharSource(target.toFile(), Charset.defaultCharset()).read());
+    Mockito.verify(anaplanAPI, new Times(0))
+        .getChunkContent(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.anyString());
+  }
+
   @Test
   void testFileUploadStream() throws Exception {
 
@@ -179,6 +239,22 @@ class ServerFileTest extends BaseTest {
     assertFilesEquals(file0v3, check0v3File);
   }
 
+  @Test
+  void testPrefetchingDownloadStreamReadsChunksInOrder() throws Exception {
+    doReturn(createFeignResponse(multiChunksResponseFile, ChunksResponse.class))
+        .when(anaplanAPI)
+        .getChunks(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId());
+    doReturn("first,".getBytes())
+        .when(anaplanAPI)
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "0");
+    doReturn("second".getBytes())
+        .when(anaplanAPI)
+        .getChunkContent(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId(), "1");
+    try (InputStream downloadStream = mockServerFile.getDownloadStream(2, 1)) {
+      assertEquals("first,second", new String(ByteStreams.toByteArray(downloadStream)));
+    }
+  }
+
   /**
    * testing last index Of comma separator
    *
@@ -228,6 +304,22 @@ class ServerFileTest extends BaseTest {
     assertEquals(90, indexOfLastSeparator);
   }
 
+  /**
+   * testing chunk boundaries in a UTF-16LE file, where a match must start on a code unit
+   */
+  @Test
+  void testChunkBoundaryInUtf16File() {
+    Charset utf16 = Charset.forName("UTF-16LE");
+    ChunkBoundaryDetector detector = new ChunkBoundaryDetector(",", "UTF-16LE");
+    byte[] records = "a,b\nc,d".getBytes(utf16);
+    assertEquals(8, detector.lastBoundary(ByteBuffer.wrap(records)));
+    byte[] columns = "a,b,c".getBytes(utf16);
+    assertEquals(8, detector.lastBoundary(ByteBuffer.wrap(columns)));
+    // 0x2C00 is not a comma, although its high byte is one at an odd offset
+    byte[] misaligned = {0x61, 0x00, 0x00, 0x2C, 0x62, 0x00};
+    assertEquals(-1, detector.lastBoundary(ByteBuffer.wrap(misaligned)));
+  }
+
   @Test
   void testFileUploadWithNoSeparator() throws IOException {
     String path = Objects
@@ -267,6 +359,79 @@ class ServerFileTest extends BaseTest {
         .upsertFileDataSource(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.any(ServerFileData.class));
   }
 
+  @Test
+  void testConcurrentFileUploadSendsEveryChunk() throws IOException {
+    File file = new File(Objects
+        .requireNonNull(this.getClass().getClassLoader().getResource("files/M1-orig.csv")).getPath());
+    when(mockModel.getApi().getChunks(
+        mockModel.getWorkspace().getId(),
+        mockModel.getId(),
+        mockServerFile.getId()))
+        .thenReturn(createFeignResponse(multiChunksResponseFile, ChunksResponse.class));
+    when(mockModel.getApi()
+        .upsertFileDataSource(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers
+            .any(ServerFileData.class)))
+        .thenReturn(new ServerFileResponse() {{
+          setItem(mockServerFile.getData());
+        }});
+    ServerFileData sfd = new ServerFileData();
+    sfd.setChunkCount(2);
+    sfd.setSeparator("\t");
+    sfd.setDelimiter(",");
+    sfd.setEncoding("UTF-8");
+    sfd.setFormat(".txt");
+    sfd.setId("1130000000001");
+    mockServerFile.setData(sfd);
+    mockServerFile.upLoad(file, false, fetchChunkSize(1), 2);
+    Mockito.verify(mockModel.getApi(), new Times(1))
+        .uploadChunkPrecompressed(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.eq("0"),
+            Matchers.any(byte[].class));
+    Mockito.verify(mockModel.getApi(), new Times(1))
+        .uploadChunkPrecompressed(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.eq("1"),
+            Matchers.any(byte[].class));
+  }
+
+  @Test
+  void testResumedUploadSkipsSentChunks() throws IOException {
+    File file = getTempFolderPath().resolve("M1-orig.csv").toFile();
+    java.nio.file.Files.copy(Paths.get(Objects
+        .requireNonNull(this.getClass().getClassLoader().getResource("files/M1-orig.csv")).getPath()), file.toPath());
+    doReturn(createFeignResponse(multiChunksResponseFile, ChunksResponse.class))
+        .when(anaplanAPI)
+        .getChunks(mockModel.getWorkspace().getId(), mockModel.getId(), mockServerFile.getId());
+    doReturn(new ServerFileResponse() {{
+      setItem(mockServerFile.getData());
+    }})
+        .when(anaplanAPI)
+        .upsertFileDataSource(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers
+            .any(ServerFileData.class));
+    Mockito.doThrow(new AnaplanAPIException("connection reset"))
+        .doNothing()
+        .when(anaplanAPI)
+        .uploadChunkPrecompressed(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.eq("1"),
+            Matchers.any(byte[].class));
+    ServerFileData sfd = new ServerFileData();
+    sfd.setSeparator("\t");
+    sfd.setDelimiter(",");
+    sfd.setEncoding("UTF-8");
+    sfd.setFormat(".txt");
+    sfd.setId("1130000000001");
+    mockServerFile.setData(sfd);
+    assertThrows(AnaplanAPIException.class,
+        () -> mockServerFile.upLoad(file, false, fetchChunkSize(1), 1, true));
+
+    mockServerFile.upLoad(file, false, fetchChunkSize(1), 1, true);
+    Mockito.verify(anaplanAPI, new Times(1))
+        .upsertFileDataSource(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers
+            .any(ServerFileData.class));
+    Mockito.verify(anaplanAPI, new Times(1))
+        .uploadChunkPrecompressed(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.eq("0"),
+            Matchers.any(byte[].class));
+    Mockito.verify(anaplanAPI, new Times(2))
+        .uploadChunkPrecompressed(Matchers.anyString(), Matchers.anyString(), Matchers.anyString(), Matchers.eq("1"),
+            Matchers.any(byte[].class));
+  }
+
   @Test
   void testFileUploadFailsWithMultiSeparator() {
     File file = new File(this.getClass().getClassLoader().getResource("files/M1-orig.csv").getPath());
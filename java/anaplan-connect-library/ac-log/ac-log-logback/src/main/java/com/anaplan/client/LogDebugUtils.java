@@ -5,6 +5,7 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.encoder.Encoder;
 import org.slf4j.LoggerFactory;
 
 public class LogDebugUtils {
@@ -14,19 +15,27 @@ public class LogDebugUtils {
   private static final String CONSOLE_APPENDER_NAME = "CONSOLE_STDOUT";
   private static final String DEBUG_PATTERN_NAME = "DEBUG_STDOUT";
 
+  private static boolean enabled;
+  private static Level previousLevel;
+  private static Encoder<ILoggingEvent> previousEncoder;
+
   /**
    * Enables debug logging in Logback.
    */
-  public static void enableDebugLogging() {
+  public static synchronized void enableDebugLogging() {
     LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
     String packageName = LogDebugUtils.class.getPackage().getName();
+    if (!enabled) {
+      previousLevel = context.getLogger(packageName).getLevel();
+    }
     context.getLogger(packageName).setLevel(Level.DEBUG);
 
-    ConsoleAppender<ILoggingEvent> consoleAppender = (ConsoleAppender<ILoggingEvent>) context
-        .getLogger(packageName)
-        .getAppender(CONSOLE_APPENDER_NAME);
+    ConsoleAppender<ILoggingEvent> consoleAppender = consoleAppender(context, packageName);
     if (consoleAppender != null) {
       consoleAppender.stop();
+      if (!enabled) {
+        previousEncoder = consoleAppender.getEncoder();
+      }
 
       PatternLayout debugLayout = new PatternLayout();
       debugLayout.setPattern(context.getProperty(DEBUG_PATTERN_NAME));
@@ -37,6 +46,33 @@ public class LogDebugUtils {
       consoleAppender.setContext(context);
       consoleAppender.start();
     }
+    enabled = true;
+  }
+
+  /**
+   * Puts back the level and console layout that {@link #enableDebugLogging()} replaced.
+   */
+  public static synchronized void disableDebugLogging() {
+    if (!enabled) {
+      return;
+    }
+    LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    String packageName = LogDebugUtils.class.getPackage().getName();
+    context.getLogger(packageName).setLevel(previousLevel);
+
+    ConsoleAppender<ILoggingEvent> consoleAppender = consoleAppender(context, packageName);
+    if (consoleAppender != null && previousEncoder != null) {
+      consoleAppender.stop();
+      consoleAppender.setEncoder(previousEncoder);
+      consoleAppender.start();
+    }
+    enabled = false;
+    previousLevel = null;
+    previousEncoder = null;
+  }
+
+  private static ConsoleAppender<ILoggingEvent> consoleAppender(LoggerContext context, String packageName) {
+    return (ConsoleAppender<ILoggingEvent>) context.getLogger(packageName).getAppender(CONSOLE_APPENDER_NAME);
   }
 
 }
@@ -1,6 +1,7 @@
 package com.anaplan.client;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -20,5 +21,39 @@ public class StreamUtils {
     return buffer.toByteArray();
   }
 
+  /**
+   * Reads the stream into a byte array. When the length of the content is known up front the bytes are read straight
+   * into an array of that size, avoiding the growing buffer and the final copy.
+   *
+   * @param inputStream    the stream to read
+   * @param expectedLength the content length, or a negative value if unknown
+   * @return the content
+   * @throws IOException if reading fails
+   */
+  public static byte[] inputStreamToByteArray(InputStream inputStream, long expectedLength) throws IOException {
+    if (expectedLength < 0 || expectedLength > Integer.MAX_VALUE - 8) {
+      return inputStreamToByteArray(inputStream);
+    }
+    byte[] data = new byte[(int) expectedLength];
+    int offset = 0;
+    int nRead;
+    while (offset < data.length && (nRead = inputStream.read(data, offset, data.length - offset)) != -1) {
+      offset += nRead;
+    }
+    if (offset < data.length) {
+      throw new EOFException("Expected " + expectedLength + " bytes but stream ended after " + offset);
+    }
+    int next = inputStream.read();
+    if (next != -1) {
+      // longer than announced, fall back to reading the remainder
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length + BUFFER_SIZE);
+      buffer.write(data, 0, data.length);
+      buffer.write(next);
+      buffer.write(inputStreamToByteArray(inputStream));
+      return buffer.toByteArray();
+    }
+    return data;
+  }
+
 
 }
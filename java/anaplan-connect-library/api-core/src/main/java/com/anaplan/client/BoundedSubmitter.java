@@ -0,0 +1,101 @@
+package com.anaplan.client;
+
+import com.anaplan.client.exceptions.AnaplanAPIException;
+import com.anaplan.client.exceptions.AnaplanInterruptedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Starts asynchronous work for a single submitting thread with at most a fixed number of submissions outstanding,
+ * blocking the submitter while that many are. The first failure is recorded so that work not yet started can skip
+ * itself, and is rethrown to the submitter on its next call.
+ *
+ * @param <T> the result of each submission
+ */
+class BoundedSubmitter<T> {
+
+  private final Semaphore capacity;
+  private final String activity;
+  private final List<CompletableFuture<T>> pending = new ArrayList<>();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  /**
+   * @param capacity the most submissions outstanding at a time
+   * @param activity what the work does, for messages, such as "uploading chunks"
+   */
+  BoundedSubmitter(int capacity, String activity) {
+    this.capacity = new Semaphore(capacity);
+    this.activity = activity;
+  }
+
+  /**
+   * Waits for room, then starts the work.
+   *
+   * @param work starts the work and returns its outcome
+   */
+  void submit(Supplier<CompletableFuture<T>> work) {
+    rethrowFailure();
+    try {
+      capacity.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnaplanInterruptedException("Interrupted while " + activity, e);
+    }
+    CompletableFuture<T> started;
+    try {
+      started = work.get();
+    } catch (RuntimeException e) {
+      capacity.release();
+      throw e;
+    }
+    pending.add(started.whenComplete((ignored, thrown) -> {
+      capacity.release();
+      if (thrown != null) {
+        failure.compareAndSet(null, thrown instanceof CompletionException && thrown.getCause() != null
+            ? thrown.getCause() : thrown);
+      }
+    }));
+  }
+
+  /**
+   * @return true once any submission has failed, for work to skip itself
+   */
+  boolean isFailed() {
+    return failure.get() != null;
+  }
+
+  /**
+   * Waits for every submission to finish.
+   *
+   * @return the results in the order of submission
+   */
+  List<T> await() {
+    try {
+      CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException e) {
+      // the cause has already been recorded by the failing submission
+    }
+    rethrowFailure();
+    List<T> results = new ArrayList<>(pending.size());
+    pending.forEach(outcome -> results.add(outcome.join()));
+    return results;
+  }
+
+  private void rethrowFailure() {
+    Throwable thrown = failure.get();
+    if (thrown instanceof RuntimeException) {
+      throw (RuntimeException) thrown;
+    }
+    if (thrown instanceof Error) {
+      throw (Error) thrown;
+    }
+    if (thrown != null) {
+      throw new AnaplanAPIException("Failed while " + activity, thrown);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.anaplan.client;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Finds where an upload chunk can be cut. The record terminator and the column separator are encoded once in the
+ * charset of the file, so UTF-16LE and multi-byte separators are matched as whole code units on their natural alignment
+ * rather than as single platform-encoded bytes. The search runs backward from the end of the chunk, eight bytes at a
+ * time, until the last byte of the pattern turns up.
+ */
+public class ChunkBoundaryDetector {
+
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGHS = 0x8080808080808080L;
+
+  private final byte[] terminator;
+  private final byte[] separator;
+  private final int unit;
+
+  /**
+   * @param separator the column separator of the file
+   * @param encoding  the encoding of the file, or null for the platform default
+   */
+  public ChunkBoundaryDetector(String separator, String encoding) {
+    Charset charset = toCharset(encoding);
+    this.terminator = "\n".getBytes(charset);
+    this.separator = separator.getBytes(charset);
+    this.unit = terminator.length;
+  }
+
+  /**
+   * Returns the length of the longest prefix of the chunk that ends on a record terminator or, if the chunk holds no
+   * terminator, on a column separator.
+   *
+   * @param chunk the chunk content, from its position to its limit; left unchanged
+   * @return the number of bytes up to and including the last terminator or separator, or -1 if there is neither
+   */
+  public int lastBoundary(ByteBuffer chunk) {
+    int index = lastIndexOf(chunk, terminator, unit, 0);
+    if (index >= 0) {
+      return index + terminator.length;
+    }
+    index = lastIndexOf(chunk, separator, unit, 0);
+    return index < 0 ? -1 : index + separator.length;
+  }
+
+  /**
+   * Finds the last occurrence of a pattern within the remaining content of a buffer.
+   *
+   * @param buffer    the content to search, from its position to its limit; left unchanged
+   * @param pattern   the bytes to find
+   * @param unit      the alignment of a match relative to the position, the width of a code unit of the encoding
+   * @param fromIndex the lowest index, relative to the position, at which a match may start
+   * @return the index of the match relative to the position, or -1 if there is none
+   */
+  public static int lastIndexOf(ByteBuffer buffer, byte[] pattern, int unit, int fromIndex) {
+    if (pattern.length == 0) {
+      return -1;
+    }
+    int base = buffer.position();
+    int lower = base + fromIndex;
+    int last = pattern.length - 1;
+    byte lastByte = pattern[last];
+    int end = buffer.limit();
+    while (true) {
+      int found = lastIndexOfByte(buffer, lower + last, end, lastByte);
+      if (found < 0) {
+        return -1;
+      }
+      int start = found - last;
+      if ((start - base) % unit == 0 && matches(buffer, start, pattern, last)) {
+        return start - base;
+      }
+      end = found;
+    }
+  }
+
+  private static boolean matches(ByteBuffer buffer, int start, byte[] pattern, int last) {
+    for (int j = 0; j < last; j++) {
+      if (buffer.get(start + j) != pattern[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Scans backward for a single byte, testing eight bytes per step with the "has zero byte" trick and only looking at
+   * individual bytes within a word that contains the value.
+   */
+  private static int lastIndexOfByte(ByteBuffer buffer, int lower, int end, byte value) {
+    long pattern = (value & 0xffL) * ONES;
+    int i = end;
+    while (i > lower) {
+      if (i - lower >= Long.BYTES) {
+        long word = buffer.getLong(i - Long.BYTES) ^ pattern;
+        if (((word - ONES) & ~word & HIGHS) == 0) {
+          i -= Long.BYTES;
+          continue;
+        }
+      }
+      int stop = Math.max(lower, i - Long.BYTES);
+      for (int k = i - 1; k >= stop; k--) {
+        if (buffer.get(k) == value) {
+          return k;
+        }
+      }
+      i = stop;
+    }
+    return -1;
+  }
+
+  private static Charset toCharset(String encoding) {
+    if (encoding == null) {
+      return Charset.defaultCharset();
+    }
+    try {
+      Charset charset = Charset.forName(encoding);
+      // the BOM-less form, as a chunk after the first one starts mid-file
+      return StandardCharsets.UTF_16.equals(charset) ? StandardCharsets.UTF_16BE : charset;
+    } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+      return Charset.defaultCharset();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.anaplan.client;
+
+import com.anaplan.client.dto.ChunkData;
+import com.anaplan.client.exceptions.AnaplanChunkException;
+import com.anaplan.client.exceptions.AnaplanInterruptedException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Reads the chunks of a server file in order while the following chunks are already being downloaded in the background.
+ * Up to <code>depth</code> chunks are fetched ahead of the reader, but no new fetch is started if it could take the
+ * chunks downloaded or downloading and not yet read past <code>maxBufferedBytes</code>; at least one chunk is always
+ * fetched so the stream makes progress whatever the chunk size. The server reports no chunk sizes, so each fetch
+ * reserves the size of the largest chunk seen so far, and only one chunk is fetched until the first has arrived.
+ * <p>
+ * The fetch threads are released once the last chunk has been fetched, so a stream read to the end need not be closed;
+ * closing it stops any prefetching early.
+ */
+class ChunkPrefetchInputStream extends InputStream {
+
+  private final Function<String, byte[]> fetcher;
+  private final Iterator<ChunkData> pending;
+  private final Deque<Future<byte[]>> ahead = new ArrayDeque<>();
+  private final ExecutorService executor;
+  private final int depth;
+  private final long maxBufferedBytes;
+  private final AtomicLong bufferedBytes = new AtomicLong();
+  private final AtomicLong largestChunk = new AtomicLong();
+  private byte[] current = new byte[0];
+  private int position;
+  private boolean closed;
+
+  /**
+   * @param chunkList        the chunks to read, in order
+   * @param fetcher          downloads the content of a chunk
+   * @param depth            the number of chunks fetched ahead of the reader
+   * @param maxBufferedBytes the memory cap for chunks fetched ahead
+   * @param executors        provides the threads the chunks are fetched on
+   */
+  ChunkPrefetchInputStream(List<ChunkData> chunkList, Function<String, byte[]> fetcher, int depth,
+      long maxBufferedBytes, ExecutorProvider executors) {
+    this.fetcher = fetcher;
+    this.pending = chunkList.iterator();
+    this.depth = depth;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.executor = executors.newBlockingExecutor("anaplan-chunk-prefetch", depth);
+    fetchAhead();
+  }
+
+  @Override
+  public int read() {
+    if (!nextChunkIfExhausted()) {
+      return -1;
+    }
+    return current[position++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    if (len == 0) {
+      return 0;
+    }
+    if (!nextChunkIfExhausted()) {
+      return -1;
+    }
+    int count = Math.min(len, current.length - position);
+    System.arraycopy(current, position, b, off, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return current.length - position;
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      executor.shutdownNow();
+      ahead.forEach(future -> future.cancel(true));
+      ahead.clear();
+      current = new byte[0];
+      position = 0;
+    }
+  }
+
+  /**
+   * Moves on to the next chunk with any content once the current one has been read.
+   *
+   * @return false at the end of the file
+   */
+  private boolean nextChunkIfExhausted() {
+    while (position >= current.length) {
+      if (closed || ahead.isEmpty()) {
+        return false;
+      }
+      byte[] next = await(ahead.poll());
+      bufferedBytes.addAndGet(-current.length);
+      current = next;
+      position = 0;
+      fetchAhead();
+    }
+    return true;
+  }
+
+  private void fetchAhead() {
+    while (ahead.size() < depth && pending.hasNext()) {
+      final long reserved = largestChunk.get();
+      if (!ahead.isEmpty() && (reserved == 0 || bufferedBytes.get() + reserved > maxBufferedBytes)) {
+        break;
+      }
+      bufferedBytes.addAndGet(reserved);
+      final String chunkId = pending.next().getId();
+      ahead.add(executor.submit(() -> {
+        byte[] content = fetcher.apply(chunkId);
+        largestChunk.accumulateAndGet(content.length, Math::max);
+        bufferedBytes.addAndGet(content.length - reserved);
+        return content;
+      }));
+    }
+    if (!pending.hasNext()) {
+      // lets the fetches already submitted finish, then releases the threads
+      executor.shutdown();
+    }
+  }
+
+  private static byte[] await(Future<byte[]> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnaplanInterruptedException("Interrupted while downloading chunks", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw new AnaplanChunkException("Failed to read chunk from server",
+          cause instanceof Exception ? (Exception) cause : e);
+    }
+  }
+}
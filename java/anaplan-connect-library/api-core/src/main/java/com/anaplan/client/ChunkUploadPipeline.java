@@ -0,0 +1,66 @@
+package com.anaplan.client;
+
+import com.anaplan.client.transport.ChunkCompressor;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+
+/**
+ * Overlaps the compression and the sending of file chunks. The caller maps and splits the source and hands each chunk
+ * to {@link #submit}; chunks are then gzipped on one pool and sent on another. At most <code>2 * concurrency</code>
+ * chunks are held between the stages, so a slow network throttles the reader instead of filling the heap. The first
+ * failure stops any further sends and is rethrown to the caller.
+ */
+class ChunkUploadPipeline implements AutoCloseable {
+
+  private final ExecutorService compressors;
+  private final ExecutorService senders;
+  private final BoundedSubmitter<Void> submitter;
+  private final ChunkCompressor compressor;
+  private final BiConsumer<String, byte[]> sender;
+
+  /**
+   * @param concurrency the number of chunks compressed and sent in parallel
+   * @param compressor  gzips each chunk
+   * @param executors   provides the threads the chunks are compressed and sent on
+   * @param sender      uploads a compressed chunk to the server
+   */
+  ChunkUploadPipeline(int concurrency, ChunkCompressor compressor, ExecutorProvider executors,
+      BiConsumer<String, byte[]> sender) {
+    this.compressors = executors.newComputeExecutor("anaplan-chunk-compress", concurrency);
+    this.senders = executors.newBlockingExecutor("anaplan-chunk-upload", concurrency);
+    this.submitter = new BoundedSubmitter<>(concurrency * 2, "uploading chunks");
+    this.compressor = compressor;
+    this.sender = sender;
+  }
+
+  /**
+   * Queues a chunk for compression and upload, blocking while the pipeline is full.
+   *
+   * @param chunkId the chunk identifier
+   * @param content the raw chunk content, typically a slice of the mapped source
+   */
+  void submit(final String chunkId, final ByteBuffer content) {
+    submitter.submit(() -> CompletableFuture
+        .supplyAsync(() -> compressor.compress(content), compressors)
+        .thenAcceptAsync(compressed -> {
+          if (!submitter.isFailed()) {
+            sender.accept(chunkId, compressed);
+          }
+        }, senders));
+  }
+
+  /**
+   * Waits for every submitted chunk to be sent.
+   */
+  void await() {
+    submitter.await();
+  }
+
+  @Override
+  public void close() {
+    compressors.shutdownNow();
+    senders.shutdownNow();
+  }
+}
@@ -33,6 +33,49 @@ public class Constants {
 
   public static final double DEFAULT_BACKOFF_MULTIPLIER = 1.5;
 
+  public static final int DEFAULT_RETRY_BUDGET = 30;
+  public static final int MIN_RETRY_BUDGET = 1;
+  public static final int MAX_RETRY_BUDGET = 1000;
+  public static final int RETRY_BUDGET_WINDOW_SECS = 10;
+
+  public static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 5;
+  public static final int MIN_CIRCUIT_FAILURE_THRESHOLD = 1;
+  public static final int MAX_CIRCUIT_FAILURE_THRESHOLD = 100;
+  public static final int DEFAULT_CIRCUIT_OPEN_SECS = 30;
+  public static final int MIN_CIRCUIT_OPEN_SECS = 1;
+  public static final int MAX_CIRCUIT_OPEN_SECS = 600;
+
+  public static final int DEFAULT_METADATA_CACHE_TTL_SECS = 0;
+  public static final int MIN_METADATA_CACHE_TTL_SECS = 0;
+  public static final int MAX_METADATA_CACHE_TTL_SECS = 86400;
+
+  public static final int MIN_TRANSFER_CONCURRENCY = 1;
+  public static final int MAX_TRANSFER_CONCURRENCY = 16;
+
+  public static final int MIN_LIST_CONCURRENCY = 1;
+  public static final int MAX_LIST_CONCURRENCY = 8;
+
+  public static final int MIN_COMPRESSION_LEVEL = 0;
+  public static final int MAX_COMPRESSION_LEVEL = 9;
+  public static final int MIN_COMPRESSION_THREADS = 1;
+  public static final int MAX_COMPRESSION_THREADS = 16;
+
+  public static final int DEFAULT_MAX_IDLE_CONNECTIONS = MAX_TRANSFER_CONCURRENCY;
+  public static final int MIN_IDLE_CONNECTIONS = 1;
+  public static final int MAX_IDLE_CONNECTIONS = 256;
+  public static final int DEFAULT_KEEP_ALIVE_DURATION_SECS = 300;
+  public static final int MIN_KEEP_ALIVE_DURATION_SECS = 1;
+  public static final int MAX_KEEP_ALIVE_DURATION_SECS = 3600;
+  public static final int MIN_REQUESTS_PER_SECOND = 1;
+  public static final int MAX_REQUESTS_PER_SECOND = 1000;
+
+  public static final int DEFAULT_ASYNC_API_THREADS = 32;
+
+  public static final int DEFAULT_TASK_TRACKING_THREADS = 32;
+
+  public static final int DEFAULT_PREFETCH_CHUNKS = 2;
+  public static final long DEFAULT_PREFETCH_MEMORY_BYTES = 200L * 1000 * 1000;
+
   public static final String TIME_DIMENSION = "Time";
   public static final String VERSION_DIMENSION = "Version";
   public static final int MAX_BATCH_SIZE = 100 * 1000;
@@ -0,0 +1,75 @@
+package com.anaplan.client;
+
+import com.anaplan.client.dto.ChunkData;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records which chunks of a server file have already been written, in order, to the partial download file. Chunks are
+ * always committed as a prefix of the chunk list, so resuming means truncating the partial file to the committed length
+ * and fetching the remaining chunks.
+ */
+class DownloadManifest extends TransferManifest {
+
+  private String fileId;
+  private List<String> chunkIds;
+  private List<ChunkRange> committed = new ArrayList<>();
+
+  static File locate(File partial) {
+    return new File(partial.getParentFile(), partial.getName() + MANIFEST_SUFFIX);
+  }
+
+  static DownloadManifest start(File location, String fileId, List<ChunkData> chunkList) {
+    DownloadManifest manifest = new DownloadManifest();
+    manifest.setLocation(location);
+    manifest.fileId = fileId;
+    manifest.chunkIds = chunkIds(chunkList);
+    return manifest;
+  }
+
+  /**
+   * Checks that the manifest was written for the same server file and chunk list, and that the partial file still holds
+   * every committed byte.
+   */
+  boolean matches(String fileId, List<ChunkData> chunkList, long partialLength) {
+    return this.fileId != null && this.fileId.equals(fileId)
+        && this.chunkIds != null && this.chunkIds.equals(chunkIds(chunkList))
+        && committed != null && getCommittedLength() <= partialLength;
+  }
+
+  int getCommittedCount() {
+    return committed.size();
+  }
+
+  long getCommittedLength() {
+    if (committed.isEmpty()) {
+      return 0;
+    }
+    ChunkRange last = committed.get(committed.size() - 1);
+    return last.offset + last.length;
+  }
+
+  void commit(String chunkId, long length) {
+    ChunkRange range = new ChunkRange();
+    range.id = chunkId;
+    range.offset = getCommittedLength();
+    range.length = length;
+    committed.add(range);
+  }
+
+  private static List<String> chunkIds(List<ChunkData> chunkList) {
+    return chunkList.stream().map(ChunkData::getId).collect(Collectors.toList());
+  }
+
+  /**
+   * Byte range of a committed chunk within the partial file
+   */
+  static class ChunkRange {
+
+    private String id;
+    private long offset;
+    private long length;
+  }
+}
@@ -0,0 +1,116 @@
+package com.anaplan.client;
+
+import com.anaplan.client.transport.ConnectionProperties;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the executors for work that spends its time blocked on the network: chunk transfers, task status polling,
+ * list batches and asynchronous API calls. Work that keeps a core busy, such as compression, stays on platform threads
+ * sized to the machine.
+ * <p>
+ * By default each executor is a bounded pool of daemon platform threads. When virtual threads are requested and the
+ * runtime is JDK 21 or later, each task gets a virtual thread of its own instead, so thousands of waits cost no OS
+ * threads; on older runtimes the request falls back to the bounded pool. Callers bound their own concurrency, so the
+ * pool size is only an upper limit for platform threads.
+ */
+public class ExecutorProvider {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutorProvider.class);
+
+  /**
+   * Bounded pools of platform threads.
+   */
+  public static final ExecutorProvider PLATFORM = new ExecutorProvider(false);
+
+  private static final Method OF_VIRTUAL = findVirtualThreadBuilder();
+
+  private final boolean virtual;
+
+  /**
+   * @param preferVirtualThreads whether to run tasks on virtual threads when the runtime supports them
+   */
+  public ExecutorProvider(boolean preferVirtualThreads) {
+    if (preferVirtualThreads && OF_VIRTUAL == null) {
+      LOG.info("Virtual threads need Java 21 or later, using platform threads");
+    }
+    this.virtual = preferVirtualThreads && OF_VIRTUAL != null;
+  }
+
+  /**
+   * Builds the provider configured by the connection properties.
+   *
+   * @param properties the connection properties
+   * @return the executor provider
+   */
+  public static ExecutorProvider from(ConnectionProperties properties) {
+    return properties.isVirtualThreads() ? new ExecutorProvider(true) : PLATFORM;
+  }
+
+  /**
+   * @return true if the runtime provides virtual threads
+   */
+  public static boolean isVirtualThreadSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * @return true if this provider runs tasks on virtual threads
+   */
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /**
+   * Creates an executor for blocking work.
+   *
+   * @param name       the thread name
+   * @param maxThreads the size of the pool when platform threads are used
+   * @return the executor, which the caller must shut down
+   */
+  public ExecutorService newBlockingExecutor(String name, int maxThreads) {
+    if (virtual) {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+            .invoke(null, virtualThreadFactory(name));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        LOG.debug("Could not create virtual threads, using platform threads: {}", e.getMessage());
+      }
+    }
+    return Executors.newFixedThreadPool(maxThreads, Utils.daemonThreadFactory(name));
+  }
+
+  /**
+   * Creates an executor for work that keeps a core busy, which always runs on platform threads.
+   *
+   * @param name    the thread name
+   * @param threads the size of the pool
+   * @return the executor, which the caller must shut down
+   */
+  public ExecutorService newComputeExecutor(String name, int threads) {
+    return Executors.newFixedThreadPool(threads, Utils.daemonThreadFactory(name));
+  }
+
+  /**
+   * Equivalent to <code>Thread.ofVirtual().name(name).factory()</code>, built reflectively so that this class still
+   * compiles for and runs on Java 8.
+   */
+  private static ThreadFactory virtualThreadFactory(String name) throws ReflectiveOperationException {
+    Object builder = OF_VIRTUAL.invoke(null);
+    Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+    builder = builderType.getMethod("name", String.class).invoke(builder, name);
+    return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+  }
+
+  private static Method findVirtualThreadBuilder() {
+    try {
+      return Thread.class.getMethod("ofVirtual");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
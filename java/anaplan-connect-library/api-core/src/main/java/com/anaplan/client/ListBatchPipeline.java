@@ -0,0 +1,69 @@
+package com.anaplan.client;
+
+import com.anaplan.client.dto.ListItem;
+import com.anaplan.client.dto.ListItemResultData;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Overlaps the parsing and the sending of list item batches. The caller parses the source and hands each batch to
+ * {@link #submit}, which returns as soon as the batch is queued, so the next batch is parsed while earlier ones are
+ * sent. At most <code>concurrency</code> batches are held at a time, so a slow server throttles the parser instead of
+ * filling the heap. The first failure stops any further sends and is rethrown to the caller.
+ */
+class ListBatchPipeline implements AutoCloseable {
+
+  private final ExecutorService senders;
+  private final BoundedSubmitter<ListItemResultData> submitter;
+  private final Function<List<ListItem>, ListItemResultData> sender;
+  private int offset;
+
+  /**
+   * @param concurrency the number of batches sent in parallel
+   * @param executors   provides the threads the batches are sent on
+   * @param sender      adds, updates or deletes one batch of items
+   */
+  ListBatchPipeline(int concurrency, ExecutorProvider executors,
+      Function<List<ListItem>, ListItemResultData> sender) {
+    this.senders = executors.newBlockingExecutor("anaplan-list-batch", concurrency);
+    this.submitter = new BoundedSubmitter<>(concurrency, "sending list items");
+    this.sender = sender;
+  }
+
+  /**
+   * Queues a batch to be sent, blocking while the pipeline is full.
+   *
+   * @param items the next batch of items from the source
+   */
+  void submit(final List<ListItem> items) {
+    final int batchOffset = offset;
+    offset += items.size();
+    submitter.submit(() -> CompletableFuture.supplyAsync(() -> {
+      if (submitter.isFailed()) {
+        return null;
+      }
+      // Resolved as soon as the batch is sent, so its items need not be held until the end
+      ListItemResultData result = sender.apply(items);
+      ListImpl.resolveFailures(items, batchOffset, result);
+      return result;
+    }, senders));
+  }
+
+  /**
+   * Waits for every submitted batch to be sent.
+   *
+   * @return the results of the batches added up, with the failures in the order of the source
+   */
+  ListItemResultData await() {
+    ListItemResultData overall = new ListItemResultData();
+    submitter.await().forEach(batch -> ListImpl.addBatchResult(batch, overall));
+    return overall;
+  }
+
+  @Override
+  public void close() {
+    senders.shutdownNow();
+  }
+}
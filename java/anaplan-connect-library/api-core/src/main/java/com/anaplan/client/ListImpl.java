@@ -62,6 +62,7 @@ public class ListImpl implements ListFactory {
   private final ListMetadata listMetadata;
   private final List<String> booleanParamList;
   private final Service service;
+  private int concurrency = 1;
 
   public ListImpl(final Service service, String workspaceId, String modelId,
                   final String listId, final boolean isJDBC) {
@@ -82,6 +83,17 @@ public class ListImpl implements ListFactory {
     this.booleanParamList = isJDBC ? Utils.getBooleanParams(this.listMetadata.getProperties()) : new ArrayList<>(0);
   }
 
+  /**
+   * @param concurrency the batches of a file source sent at the same time; above 1, the next batches are parsed while
+   *                    earlier ones are sent
+   */
+  public void setConcurrency(final int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("List concurrency must be at least 1");
+    }
+    this.concurrency = concurrency;
+  }
+
   @Override
   public ListItemResultData deleteItemsList(final ListItemParametersData itemParametersData) {
     return anaplanAPI.deleteItemsList(workspaceId, modelId, listId,
@@ -164,15 +176,36 @@ public class ListImpl implements ListFactory {
       final Map<String, Integer> parentMap = new HashMap<>(3);
       parseHeader(header, mappings, parentMap, metaContent, propMap, subsetsMap);
 
-      List<ListItem> itemList;
-      ListItemResultData overallItemResultData = new ListItemResultData();
+      return sendBatches(() -> parseFileBatch(csvReader, parentMap, propMap, subsetsMap), action);
+    }
+  }
 
-      while (!(itemList = parseFileBatch(csvReader, parentMap, propMap, subsetsMap)).isEmpty()) {
-        getBatchResultData(itemList, overallItemResultData, action);
+  /**
+   * Sends the batches of a source one after the other, or through a {@link ListBatchPipeline} when more than one may be
+   * sent at a time.
+   *
+   * @param batches reads the next batch from the source, empty at the end
+   * @return the results of the batches added up
+   */
+  private ListItemResultData sendBatches(final BatchReader batches, final ListAction action)
+      throws IOException, CsvValidationException {
+    List<ListItem> itemList;
+    if (concurrency > 1) {
+      try (ListBatchPipeline pipeline = new ListBatchPipeline(concurrency, service.getExecutorProvider(),
+          items -> sendBatch(items, action))) {
+        while (!(itemList = batches.next()).isEmpty()) {
+          pipeline.submit(itemList);
+        }
+        return pipeline.await();
       }
-
-      return overallItemResultData;
     }
+    ListItemResultData overallItemResultData = new ListItemResultData();
+    int offset = 0;
+    while (!(itemList = batches.next()).isEmpty()) {
+      getBatchResultData(itemList, offset, overallItemResultData, action);
+      offset += itemList.size();
+    }
+    return overallItemResultData;
   }
 
   public boolean verifyHeaderMapping(final String[] headerSource,
@@ -258,9 +291,15 @@ public class ListImpl implements ListFactory {
     return itemList;
   }
 
-  private void getBatchResultData(final List<ListItem> itemList,
+  private void getBatchResultData(final List<ListItem> itemList, final int offset,
                                   final ListItemResultData overallItemResultData,
                                   final ListAction action) {
+    ListItemResultData batchItemResultData = sendBatch(itemList, action);
+    resolveFailures(itemList, offset, batchItemResultData);
+    addBatchResult(batchItemResultData, overallItemResultData);
+  }
+
+  private ListItemResultData sendBatch(final List<ListItem> itemList, final ListAction action) {
     ListItemResultData batchItemResultData = new ListItemResultData();
     ListItemParametersData listItemParametersData = new ListItemParametersData();
     listItemParametersData.setItems(itemList);
@@ -278,7 +317,26 @@ public class ListImpl implements ListFactory {
         batchItemResultData = anaplanAPI.deleteItemsList(workspaceId, modelId, listId,
             listItemParametersData);
     }
+    return batchItemResultData;
+  }
+
+  /**
+   * Attaches its item to each failure of a batch, and turns the index of the failure within the batch into its index
+   * within the whole source.
+   *
+   * @param itemList the items of the batch
+   * @param offset   the items of the source before the batch
+   */
+  static void resolveFailures(final List<ListItem> itemList, final int offset,
+                              final ListItemResultData batchItemResultData) {
+    for (ListFailure listFailure : CollectionUtils.emptyIfNull(batchItemResultData.getFailures())) {
+      listFailure.setListItem(itemList.get(listFailure.getRequestIndex()));
+      listFailure.setRequestIndex(offset + listFailure.getRequestIndex());
+    }
+  }
 
+  static void addBatchResult(final ListItemResultData batchItemResultData,
+                             final ListItemResultData overallItemResultData) {
     overallItemResultData
         .setUpdated(batchItemResultData.getUpdated() + overallItemResultData.getUpdated());
     overallItemResultData
@@ -288,10 +346,6 @@ public class ListImpl implements ListFactory {
     overallItemResultData
         .setIgnored(batchItemResultData.getIgnored() + overallItemResultData.getIgnored());
 
-    for (ListFailure listFailure : CollectionUtils.emptyIfNull(batchItemResultData.getFailures())) {
-      listFailure.setListItem(itemList.get(listFailure.getRequestIndex()));
-    }
-
     if (overallItemResultData.getFailures() == null) {
       overallItemResultData.setFailures(batchItemResultData.getFailures());
     } else {
@@ -447,26 +501,20 @@ public class ListImpl implements ListFactory {
                                            final MetaContent metaContent, final ListAction action)
       throws IOException {
     final JsonFactory jsonFactory = new JsonFactory();
-    final ListItemResultData overallItemResultData = new ListItemResultData();
     try (final JsonParser jsonParser = jsonFactory.createParser(file.toFile())) {
       final JsonToken current = jsonParser.nextToken();
       if (current != JsonToken.START_ARRAY) {
         return null;
       }
-      Map<String, String> properties = null;
-      Map<String, String> mapProperties = null;
-      if (itemFile != null) {
-        properties = Utils.getPropertyFile(new FileInputStream(itemFile.toFile()));
-        mapProperties = new HashMap<>();
-      }
-      List<ListItem> listItems;
-      while (!(listItems = getItemsFromJson(jsonParser, itemFile, mapProperties, properties,
-          metaContent)).isEmpty()) {
-        addJSONBatch(overallItemResultData, listItems, action);
-        listItems.clear();
-      }
+      final Map<String, String> properties = itemFile == null ? null
+          : Utils.getPropertyFile(new FileInputStream(itemFile.toFile()));
+      final Map<String, String> mapProperties = itemFile == null ? null : new HashMap<>();
+      return sendBatches(() -> getItemsFromJson(jsonParser, itemFile, mapProperties, properties,
+          metaContent), action);
+    } catch (CsvValidationException e) {
+      // Only thrown by CSV sources
+      throw new IOException(e);
     }
-    return overallItemResultData;
   }
 
   /**
@@ -557,10 +605,13 @@ public class ListImpl implements ListFactory {
     }
   }
 
-  private void addJSONBatch(final ListItemResultData overallItemResultData,
-                            final List<ListItem> listItems, final ListAction action) {
-    getBatchResultData(listItems, overallItemResultData, action);
-    listItems.clear();
+  /**
+   * Reads the next batch of items from a source.
+   */
+  @FunctionalInterface
+  private interface BatchReader {
+
+    List<ListItem> next() throws IOException, CsvValidationException;
   }
 
   /**
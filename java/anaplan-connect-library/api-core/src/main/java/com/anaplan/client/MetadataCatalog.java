@@ -0,0 +1,300 @@
+package com.anaplan.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches the listings of workspaces, models and model objects a {@link Service} resolves names against, so that
+ * repeated lookups do not walk a fresh paginated listing each time.
+ * <p>
+ * Each listing is held per kind of object and per scope, such as the imports of one model, and is indexed by id, code
+ * and name; codes and names are matched regardless of case, as the listings always have been. A listing is loaded again
+ * once it is older than the time to live, or when a lookup misses, so objects created since are still found. Callers
+ * that change the objects on the server invalidate the affected scope.
+ * <p>
+ * Listings are held as the data of their objects, and each lookup returns a new object built from a copy of that data,
+ * so callers may change what they are given and no two threads share an object.
+ * <p>
+ * With a {@link MetadataSnapshot}, listings that are not in memory are first looked for on disk, and every listing
+ * fetched from the server is saved there for the next process.
+ */
+public class MetadataCatalog {
+
+  private final ObjectMapper objectMapper = ObjectMapperProvider.getObjectMapper();
+  private final long ttlNanos;
+  private final Map<Key, Index> indexes = new ConcurrentHashMap<>();
+  private volatile MetadataSnapshot snapshot;
+
+  /**
+   * @param ttlSeconds how long a listing is reused, 0 to always load it afresh
+   */
+  public MetadataCatalog(int ttlSeconds) {
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+  }
+
+  /**
+   * @param snapshot the on-disk copy of the listings, or null for none
+   */
+  public void setSnapshot(MetadataSnapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  public MetadataSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Finds an object by id, code or name in the listing of its kind within the scope. The listing is looked for in the
+   * snapshot if it is not cached or has expired, and otherwise loaded from the server and saved there.
+   *
+   * @param kind       the type of object
+   * @param scope      the path of ids the listing belongs to
+   * @param identifier the id, code or name to look up
+   * @param loader     lists the objects of the scope
+   * @param keys       the id, code and name of an object; missing ones return null
+   * @param codec      converts the objects to the data the listing is held as and back
+   * @return a new object, or null if there is none
+   */
+  public <T, D> T find(Class<T> kind, String scope, String identifier, Supplier<Iterable<T>> loader,
+      Function<T, String[]> keys, Codec<T, D> codec) {
+    if (identifier == null) {
+      return null;
+    }
+    Key key = new Key(kind, scope);
+    MetadataSnapshot saved = snapshot;
+    Index index = indexes.get(key);
+    boolean fresh = false;
+    if ((index == null || index.isExpired()) && saved != null) {
+      index = restore(key, saved, keys, codec);
+    }
+    if (index == null || index.isExpired()) {
+      index = load(key, loader, keys, saved, codec);
+      fresh = true;
+    }
+    JsonNode found = index.find(identifier);
+    if (found == null && !fresh) {
+      found = load(key, loader, keys, saved, codec).find(identifier);
+    }
+    return found == null ? null : codec.fromData.apply(objectMapper.convertValue(found, codec.dataType));
+  }
+
+  /**
+   * Drops every cached listing.
+   */
+  public void invalidate() {
+    indexes.clear();
+    MetadataSnapshot saved = snapshot;
+    if (saved != null) {
+      saved.clear();
+    }
+  }
+
+  /**
+   * Drops the cached listings of a scope and of the scopes within it.
+   *
+   * @param scope the path of ids, such as a workspace id or a workspace and model id
+   */
+  public void invalidate(String scope) {
+    Predicate<Key> inScope = key -> key.scope.equals(scope) || key.scope.startsWith(scope + "/");
+    indexes.keySet().removeIf(inScope);
+    MetadataSnapshot saved = snapshot;
+    if (saved != null) {
+      saved.remove(name -> inScope.test(Key.parse(name)));
+    }
+  }
+
+  /**
+   * Drops the cached listing of one kind of object within a scope.
+   *
+   * @param kind  the type of object
+   * @param scope the path of ids the listing belongs to
+   */
+  public void invalidate(Class<?> kind, String scope) {
+    Key key = new Key(kind, scope);
+    indexes.remove(key);
+    MetadataSnapshot saved = snapshot;
+    if (saved != null) {
+      saved.remove(key.toString()::equals);
+    }
+  }
+
+  /**
+   * @param ids the ids from the workspace down, such as a workspace id and a model id
+   * @return the scope path of the ids
+   */
+  public static String scope(String... ids) {
+    return String.join("/", ids);
+  }
+
+  /**
+   * @return the id, code and name of a model object
+   */
+  static String[] namedKeys(NamedObject object) {
+    return new String[]{object.getId(), object.getCode(), object.getName()};
+  }
+
+  private <T, D> Index load(Key key, Supplier<Iterable<T>> loader, Function<T, String[]> keys,
+      MetadataSnapshot saved, Codec<T, D> codec) {
+    Index index = new Index(ttlNanos);
+    List<Object> data = new ArrayList<>();
+    for (T item : loader.get()) {
+      Object itemData = codec.toData.apply(item);
+      index.add(objectMapper.valueToTree(itemData), keys.apply(item));
+      if (saved != null) {
+        data.add(itemData);
+      }
+    }
+    if (ttlNanos > 0) {
+      indexes.put(key, index);
+      if (saved != null) {
+        saved.write(key.toString(), data);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Restores a saved listing for what is left of its time to live, counted from when it was listed rather than from
+   * now, so a listing is never used for longer than the time to live in all.
+   */
+  private <T, D> Index restore(Key key, MetadataSnapshot saved, Function<T, String[]> keys, Codec<T, D> codec) {
+    MetadataSnapshot.Listing<D> listing = saved.read(key.toString(), codec.dataType);
+    if (listing == null) {
+      return null;
+    }
+    long ageMillis = Math.max(0, System.currentTimeMillis() - listing.getSavedAtMillis());
+    long remainingNanos = ttlNanos - TimeUnit.MILLISECONDS.toNanos(ageMillis);
+    if (remainingNanos <= 0) {
+      return null;
+    }
+    Index index = new Index(remainingNanos);
+    for (D item : listing.getItems()) {
+      index.add(objectMapper.valueToTree(item), keys.apply(codec.fromData.apply(item)));
+    }
+    indexes.put(key, index);
+    return index;
+  }
+
+  /**
+   * Converts the objects of a listing to the data transfer objects the listing is held as and a snapshot saves, and
+   * back.
+   *
+   * @param <T> the type of object
+   * @param <D> the type of its data
+   */
+  public static final class Codec<T, D> {
+
+    private final Class<D> dataType;
+    private final Function<T, Object> toData;
+    private final Function<D, T> fromData;
+
+    /**
+     * @param dataType the type of the data
+     * @param toData   returns the data of an object
+     * @param fromData creates an object from its data
+     */
+    public Codec(Class<D> dataType, Function<T, Object> toData, Function<D, T> fromData) {
+      this.dataType = dataType;
+      this.toData = toData;
+      this.fromData = fromData;
+    }
+  }
+
+  private static final class Key {
+
+    private final Class<?> kind;
+    private final String scope;
+
+    Key(Class<?> kind, String scope) {
+      this.kind = kind;
+      this.scope = scope;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return kind == other.kind && scope.equals(other.scope);
+    }
+
+    /**
+     * @return the name of the listing in a snapshot
+     */
+    @Override
+    public String toString() {
+      return kind.getSimpleName() + "|" + scope;
+    }
+
+    /**
+     * @return a key of the scope in a snapshot listing name, the kind of which is not needed to match scopes
+     */
+    static Key parse(String name) {
+      return new Key(Object.class, name.substring(name.indexOf('|') + 1));
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, scope);
+    }
+  }
+
+  /**
+   * The data of a listing indexed by id, and by code and name in lower case. Where several objects share a code or name
+   * the first listed wins, as it did for a scan of the listing.
+   */
+  private static final class Index {
+
+    private final Map<String, JsonNode> byId = new HashMap<>();
+    private final Map<String, JsonNode> byCode = new HashMap<>();
+    private final Map<String, JsonNode> byName = new HashMap<>();
+    private final long expiresAtNanos;
+
+    Index(long ttlNanos) {
+      this.expiresAtNanos = System.nanoTime() + ttlNanos;
+    }
+
+    void add(JsonNode item, String[] keys) {
+      if (keys[0] != null) {
+        byId.putIfAbsent(keys[0], item);
+      }
+      if (keys.length > 1 && keys[1] != null) {
+        byCode.putIfAbsent(keys[1].toLowerCase(Locale.ROOT), item);
+      }
+      if (keys.length > 2 && keys[2] != null) {
+        byName.putIfAbsent(keys[2].toLowerCase(Locale.ROOT), item);
+      }
+    }
+
+    JsonNode find(String identifier) {
+      JsonNode found = byId.get(identifier);
+      if (found == null) {
+        String folded = identifier.toLowerCase(Locale.ROOT);
+        found = byCode.get(folded);
+        if (found == null) {
+          found = byName.get(folded);
+        }
+      }
+      return found;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAtNanos >= 0;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.anaplan.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the listings of a {@link MetadataCatalog} in a compact JSON file, so that a new process can resolve workspace,
+ * model and action names without listing them again.
+ * <p>
+ * Each listing is saved with the time it was listed and is only used while younger than the time to live; older ones
+ * of the same service and user are dropped from the file the next time it is saved. Listings are
+ * kept under a hash of the API service and user they were listed for, so one file can serve several of either. Several
+ * processes can share the file: each change is merged into what is on disk under a lock on a file beside it, and the
+ * file is replaced in one move, so readers never see it half written.
+ */
+public class MetadataSnapshot {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MetadataSnapshot.class);
+  private static final String SAVED_AT = "savedAt";
+  private static final String ITEMS = "items";
+
+  private final Path file;
+  private final Path lockFile;
+  private final String namespace;
+  private final long ttlMillis;
+  private final ObjectMapper objectMapper = ObjectMapperProvider.getObjectMapper();
+  private Map<String, JsonNode> entries;
+  private final Map<String, JsonNode> written = new HashMap<>();
+  private final List<Predicate<String>> removals = new ArrayList<>();
+
+  /**
+   * @param file       the snapshot file
+   * @param identity   the API service and user the listings belong to
+   * @param ttlSeconds how long a saved listing is used
+   */
+  public MetadataSnapshot(Path file, String identity, int ttlSeconds) {
+    this.file = file.toAbsolutePath();
+    this.lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+    this.namespace = Utils.bytesToHex(Utils.createHash(identity)).substring(0, 16) + "|";
+    this.ttlMillis = ttlSeconds * 1000L;
+  }
+
+  /**
+   * Reads a saved listing.
+   *
+   * @param key  the kind and scope of the listing
+   * @param type the type of the saved items
+   * @return the listing, or null if it was not saved or is too old
+   */
+  public synchronized <D> Listing<D> read(String key, Class<D> type) {
+    JsonNode entry = entries().get(namespace + key);
+    if (entry == null || isExpired(entry)) {
+      return null;
+    }
+    try {
+      List<D> items = new ArrayList<>();
+      for (JsonNode item : entry.path(ITEMS)) {
+        items.add(objectMapper.treeToValue(item, type));
+      }
+      return new Listing<>(items, entry.path(SAVED_AT).asLong());
+    } catch (IOException e) {
+      LOG.debug("Ignoring unreadable metadata snapshot entry {}: {}", key, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Saves a listing fetched from the server.
+   *
+   * @param key   the kind and scope of the listing
+   * @param items the data of the listed objects
+   */
+  public synchronized void write(String key, List<?> items) {
+    ObjectNode entry = objectMapper.createObjectNode();
+    entry.put(SAVED_AT, System.currentTimeMillis());
+    ArrayNode array = entry.putArray(ITEMS);
+    items.forEach(item -> array.add(objectMapper.valueToTree(item)));
+    written.put(namespace + key, entry);
+    persist();
+  }
+
+  /**
+   * Drops the saved listings whose key matches.
+   *
+   * @param keys matches the kind and scope of the listings to drop
+   */
+  public synchronized void remove(Predicate<String> keys) {
+    removals.add(key -> key.startsWith(namespace) && keys.test(key.substring(namespace.length())));
+    persist();
+  }
+
+  /**
+   * Drops every saved listing of this service and user, so the next process checks all names against the server.
+   */
+  public void clear() {
+    remove(key -> true);
+  }
+
+  private boolean isExpired(JsonNode entry) {
+    return System.currentTimeMillis() - entry.path(SAVED_AT).asLong() >= ttlMillis;
+  }
+
+  private Map<String, JsonNode> entries() {
+    if (entries == null) {
+      entries = load();
+    }
+    return entries;
+  }
+
+  private Map<String, JsonNode> load() {
+    Map<String, JsonNode> loaded = new HashMap<>();
+    if (Files.exists(file)) {
+      try {
+        JsonNode root = objectMapper.readTree(file.toFile());
+        Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          loaded.put(field.getKey(), field.getValue());
+        }
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Ignoring unreadable metadata snapshot {}: {}", file, e.getMessage());
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Applies the changes of this process to the file as it is now, which other processes may have changed since it was
+   * read.
+   */
+  private void persist() {
+    try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      // released when the channel is closed
+      channel.lock();
+      Map<String, JsonNode> merged = load();
+      removals.forEach(removal -> merged.keySet().removeIf(removal));
+      merged.entrySet().removeIf(entry -> entry.getKey().startsWith(namespace) && isExpired(entry.getValue()));
+      merged.putAll(written);
+      ObjectNode root = objectMapper.createObjectNode();
+      merged.forEach(root::set);
+      Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      objectMapper.writeValue(temporary.toFile(), root);
+      try {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      entries = merged;
+      written.clear();
+      removals.clear();
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Could not save the metadata snapshot {}: {}", file, e.getMessage());
+    }
+  }
+
+  /**
+   * The items of a saved listing and the time they were listed.
+   *
+   * @param <D> the type of the saved items
+   */
+  public static final class Listing<D> {
+
+    private final List<D> items;
+    private final long savedAtMillis;
+
+    Listing(List<D> items, long savedAtMillis) {
+      this.items = items;
+      this.savedAtMillis = savedAtMillis;
+    }
+
+    public List<D> getItems() {
+      return items;
+    }
+
+    /**
+     * @return when the listing was fetched from the server, in milliseconds since the epoch
+     */
+    public long getSavedAtMillis() {
+      return savedAtMillis;
+    }
+  }
+}
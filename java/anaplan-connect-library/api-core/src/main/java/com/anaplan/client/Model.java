@@ -13,7 +13,12 @@
 
 package com.anaplan.client;
 
+import com.anaplan.client.dto.ActionData;
+import com.anaplan.client.dto.ExportData;
+import com.anaplan.client.dto.ImportData;
 import com.anaplan.client.dto.ModelData;
+import com.anaplan.client.dto.ModuleData;
+import com.anaplan.client.dto.ProcessData;
 import com.anaplan.client.dto.ServerFileData;
 import com.anaplan.client.dto.responses.ActionsResponse;
 import com.anaplan.client.dto.responses.ExportsResponse;
@@ -31,6 +36,8 @@ import com.anaplan.client.exceptions.ModulesNotFoundException;
 import com.anaplan.client.exceptions.ProcessesNotFoundException;
 import com.anaplan.client.exceptions.ServerFilesNotFoundException;
 import com.anaplan.client.transport.Paginator;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * An Anaplan model.
@@ -132,14 +139,7 @@ public class Model extends AnaplanApiClientObject {
    * @since 1.1
    */
   public Module getModule(String identifier) throws AnaplanAPIException {
-    for (Module module : getModules()) {
-      if (identifier.equals(module.getId())
-          || identifier.equalsIgnoreCase(module.getCode())
-          || identifier.equalsIgnoreCase(module.getName())) {
-        return module;
-      }
-    }
-    return null;
+    return findNamed(Module.class, identifier, this::getModules, ModuleData.class, data -> new Module(this, data));
   }
 
   /**
@@ -179,14 +179,8 @@ public class Model extends AnaplanApiClientObject {
    */
   public ServerFile getServerFile(String identifier)
       throws AnaplanAPIException {
-    for (ServerFile serverFile : getServerFiles()) {
-      if (identifier.equals(serverFile.getId())
-          || identifier.equalsIgnoreCase(serverFile.getCode())
-          || identifier.equalsIgnoreCase(serverFile.getName())) {
-        return serverFile;
-      }
-    }
-    return null;
+    return findNamed(ServerFile.class, identifier, this::getServerFiles, ServerFileData.class,
+        data -> new ServerFile(this, data));
   }
 
   /**
@@ -211,6 +205,7 @@ public class Model extends AnaplanApiClientObject {
     if (response == null || response.getItem() == null) {
       throw new CreateImportDatasourceError(name);
     }
+    getService().getMetadataCatalog().invalidate(ServerFile.class, MetadataCatalog.scope(workspace.getId(), getId()));
     return new ServerFile(this, response.getItem());
   }
 
@@ -249,14 +244,7 @@ public class Model extends AnaplanApiClientObject {
    * @return The Import object
    */
   public Import getImport(String identifier) throws AnaplanAPIException {
-    for (Import serverImport : getImports()) {
-      if (identifier.equals(serverImport.getId())
-          || identifier.equalsIgnoreCase(serverImport.getCode())
-          || identifier.equalsIgnoreCase(serverImport.getName())) {
-        return serverImport;
-      }
-    }
-    return null;
+    return findNamed(Import.class, identifier, this::getImports, ImportData.class, data -> new Import(this, data));
   }
 
   /**
@@ -294,14 +282,7 @@ public class Model extends AnaplanApiClientObject {
    * @return The Export object
    */
   public Export getExport(String identifier) throws AnaplanAPIException {
-    for (Export serverExport : getExports()) {
-      if (identifier.equals(serverExport.getId())
-          || identifier.equalsIgnoreCase(serverExport.getCode())
-          || identifier.equalsIgnoreCase(serverExport.getName())) {
-        return serverExport;
-      }
-    }
-    return null;
+    return findNamed(Export.class, identifier, this::getExports, ExportData.class, data -> new Export(this, data));
   }
 
   /**
@@ -341,14 +322,7 @@ public class Model extends AnaplanApiClientObject {
    * @since 1.1
    */
   public Action getAction(String identifier) throws AnaplanAPIException {
-    for (Action serverAction : getActions()) {
-      if (identifier.equals(serverAction.getId())
-          || identifier.equalsIgnoreCase(serverAction.getCode())
-          || identifier.equalsIgnoreCase(serverAction.getName())) {
-        return serverAction;
-      }
-    }
-    return null;
+    return findNamed(Action.class, identifier, this::getActions, ActionData.class, data -> new Action(this, data));
   }
 
   /**
@@ -388,13 +362,17 @@ public class Model extends AnaplanApiClientObject {
    * @since 1.3
    */
   public Process getProcess(String identifier) throws AnaplanAPIException {
-    for (Process serverProcess : getProcesses()) {
-      if (identifier.equals(serverProcess.getId())
-          || identifier.equalsIgnoreCase(serverProcess.getCode())
-          || identifier.equalsIgnoreCase(serverProcess.getName())) {
-        return serverProcess;
-      }
-    }
-    return null;
+    return findNamed(Process.class, identifier, this::getProcesses, ProcessData.class,
+        data -> new Process(this, data));
+  }
+
+  /**
+   * Looks up a model object in the metadata catalog of the service, which lists the objects of its kind on a miss.
+   */
+  private <T extends NamedObject, D> T findNamed(Class<T> kind, String identifier, Supplier<Iterable<T>> listing,
+      Class<D> dataType, Function<D, T> fromData) {
+    return getService().getMetadataCatalog()
+        .find(kind, MetadataCatalog.scope(workspace.getId(), getId()), identifier, listing, MetadataCatalog::namedKeys,
+            new MetadataCatalog.Codec<>(dataType, NamedObject::getData, fromData));
   }
 }
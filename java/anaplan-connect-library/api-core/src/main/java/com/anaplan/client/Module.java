@@ -15,6 +15,7 @@ package com.anaplan.client;
 
 import com.anaplan.client.dto.ItemMetadataRow;
 import com.anaplan.client.dto.ModuleData;
+import com.anaplan.client.dto.ViewData;
 import com.anaplan.client.dto.ViewMetadata;
 import com.anaplan.client.dto.ViewMetadataRow;
 import com.anaplan.client.dto.responses.ItemData;
@@ -279,13 +280,9 @@ public class Module extends NamedObject {
    * @return The view object
    */
   public View getView(String identifier) throws AnaplanAPIException {
-    for (View view : getViews()) {
-      if (identifier.equals(view.getId())
-          || identifier.equalsIgnoreCase(view.getCode())
-          || identifier.equalsIgnoreCase(view.getName())) {
-        return view;
-      }
-    }
-    return null;
+    String scope = MetadataCatalog.scope(getWorkspace().getId(), getModel().getId(), getId());
+    return getService().getMetadataCatalog().find(View.class, scope, identifier, this::getViews,
+        MetadataCatalog::namedKeys,
+        new MetadataCatalog.Codec<>(ViewData.class, View::getData, data -> new View(this, data)));
   }
 }
\ No newline at end of file
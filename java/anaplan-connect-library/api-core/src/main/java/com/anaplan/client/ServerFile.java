@@ -19,12 +19,16 @@ import com.anaplan.client.dto.responses.ChunksResponse;
 import com.anaplan.client.dto.responses.ServerFileResponse;
 import com.anaplan.client.exceptions.AnaplanAPIException;
 import com.anaplan.client.exceptions.AnaplanChunkException;
+import com.anaplan.client.exceptions.AnaplanIOException;
+import com.anaplan.client.exceptions.AnaplanInterruptedException;
 import com.anaplan.client.exceptions.CreateImportDatasourceError;
 import com.anaplan.client.exceptions.NoChunkError;
 import com.anaplan.client.logging.LogUtils;
+import com.anaplan.client.transport.ChunkCompressor;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.FilterOutputStream;
 import java.io.IOException;
@@ -34,13 +38,29 @@ import java.io.LineNumberReader;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -102,6 +122,67 @@ public class ServerFile extends NamedObject {
         chunkId);
   }
 
+  /**
+   * Fetches the Chunk content as the unread response stream, which the caller must close
+   *
+   * @param chunkId the chunk identifier
+   * @return content stream
+   */
+  public InputStream getChunkContentStream(String chunkId) {
+    return getApi().getChunkContentStream(
+        getWorkspace().getId(),
+        getModel().getId(),
+        getId(),
+        chunkId);
+  }
+
+  /**
+   * Streams the Chunk content into a channel without holding the whole chunk in memory. A {@link FileChannel} target
+   * receives the content at its current position, which is then advanced past it.
+   *
+   * @param chunkId the chunk identifier
+   * @param target  the channel to write to
+   * @return the number of bytes written
+   */
+  public long writeChunkContent(String chunkId, WritableByteChannel target) throws IOException {
+    InputStream content = getChunkContentStream(chunkId);
+    if (content == null) {
+      // transport without streaming support
+      byte[] chunkContent = getChunkContent(chunkId);
+      if (chunkContent == null) {
+        throw new NoChunkError(chunkId);
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(chunkContent);
+      while (buffer.hasRemaining()) {
+        target.write(buffer);
+      }
+      return chunkContent.length;
+    }
+    try (ReadableByteChannel source = Channels.newChannel(content)) {
+      if (target instanceof FileChannel) {
+        FileChannel file = (FileChannel) target;
+        long position = file.position();
+        long total = 0;
+        long transferred;
+        while ((transferred = file.transferFrom(source, position + total, StreamUtils.BUFFER_SIZE * 64L)) > 0) {
+          total += transferred;
+        }
+        file.position(position + total);
+        return total;
+      }
+      long total = 0;
+      ByteBuffer buffer = ByteBuffer.allocate(StreamUtils.BUFFER_SIZE);
+      while (source.read(buffer) != -1) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          total += target.write(buffer);
+        }
+        buffer.clear();
+      }
+      return total;
+    }
+  }
+
   /**
    * Download a file from the server, writing it to the specified target file.
    *
@@ -110,6 +191,34 @@ public class ServerFile extends NamedObject {
    *                       Exception will be thrown
    */
   public void downLoad(File target, boolean deleteExisting) throws IOException {
+    downLoad(target, deleteExisting, Constants.MIN_TRANSFER_CONCURRENCY);
+  }
+
+  /**
+   * Download a file from the server, fetching up to <code>concurrency</code> chunks at once. Chunks are still written
+   * to the target in server order, so at most <code>concurrency</code> chunks are held in memory at any time.
+   *
+   * @param target         The target file to write to
+   * @param deleteExisting If true, the target file will automatically be deleted if it already exists; otherwise an
+   *                       Exception will be thrown
+   * @param concurrency    The maximum number of chunk requests in flight
+   */
+  public void downLoad(File target, boolean deleteExisting, int concurrency) throws IOException {
+    downLoad(target, deleteExisting, concurrency, false);
+  }
+
+  /**
+   * Download a file from the server, optionally resuming an earlier download of the same file. In resume mode a
+   * manifest of the chunks already written is kept next to the partial file; a later call re-fetches only the missing
+   * chunks, provided the server still reports the same chunk list. Otherwise the download starts over.
+   *
+   * @param target         The target file to write to
+   * @param deleteExisting If true, the target file will automatically be deleted if it already exists; otherwise an
+   *                       Exception will be thrown
+   * @param concurrency    The maximum number of chunk requests in flight
+   * @param resume         If true, keep track of written chunks and continue an interrupted download
+   */
+  public void downLoad(File target, boolean deleteExisting, int concurrency, boolean resume) throws IOException {
     if (target == null) {
       throw new FileNotFoundException("Target file does not exist.");
     }
@@ -131,24 +240,33 @@ public class ServerFile extends NamedObject {
     }
     RandomAccessFile partialFile = new RandomAccessFile(partial, "rw");
     try {
-      partialFile.setLength(0);
-
       // Get list of chunks from server
       List<ChunkData> chunkList = getChunks();
       //checking in case chunklist is null
-      if (chunkList != null) {
-        for (ChunkData chunk : chunkList) {
-          byte[] chunkContent = getChunkContent(chunk.getId());
-          if (chunkContent == null) {
-            throw new NoChunkError(chunk.getId());
-          }
-          partialFile.write(chunkContent);
+      if (chunkList == null) {
+        chunkList = Collections.emptyList();
+      }
+      DownloadManifest manifest = resume ? openDownloadManifest(partial, partialFile, chunkList) : null;
+      long committedLength = manifest == null ? 0 : manifest.getCommittedLength();
+      partialFile.setLength(committedLength);
+      partialFile.seek(committedLength);
+
+      List<ChunkData> remaining = chunkList.subList(manifest == null ? 0 : manifest.getCommittedCount(),
+          chunkList.size());
+      if (concurrency > 1 && remaining.size() > 1) {
+        writeChunksConcurrently(remaining, partial, partialFile, manifest, concurrency);
+      } else {
+        for (ChunkData chunk : remaining) {
+          long written = writeChunkContent(chunk.getId(), partialFile.getChannel());
+          commitChunk(partialFile, manifest, chunk, written);
         }
       }
       partialFile.close();
       partialFile = null;
       if (!partial.renameTo(target)) {
         LOG.warn("Warning: failed to rename file {} to {}", partial, target);
+      } else if (manifest != null) {
+        manifest.delete();
       }
     } finally {
       if (partialFile != null) {
@@ -161,6 +279,127 @@ public class ServerFile extends NamedObject {
     }
   }
 
+  /**
+   * Picks up the manifest of an earlier download of this file if it is still valid, or starts a new one.
+   */
+  private DownloadManifest openDownloadManifest(File partial, RandomAccessFile partialFile, List<ChunkData> chunkList)
+      throws IOException {
+    File location = DownloadManifest.locate(partial);
+    DownloadManifest manifest = TransferManifest.load(location, DownloadManifest.class);
+    if (manifest != null && manifest.matches(getId(), chunkList, partialFile.length())) {
+      LOG.info("Resuming download after {} of {} chunks", manifest.getCommittedCount(), chunkList.size());
+      return manifest;
+    }
+    if (manifest != null) {
+      LOG.info("Chunks of server file {} have changed, restarting download", getId());
+    }
+    manifest = DownloadManifest.start(location, getId(), chunkList);
+    manifest.save();
+    return manifest;
+  }
+
+  /**
+   * Records a chunk appended to the partial file. In resume mode the chunk is made durable before it is recorded in the
+   * manifest, so the manifest never claims bytes that could still be lost.
+   */
+  private static void commitChunk(RandomAccessFile partialFile, DownloadManifest manifest, ChunkData chunk,
+      long length) throws IOException {
+    if (manifest != null) {
+      partialFile.getChannel().force(false);
+      manifest.commit(chunk.getId(), length);
+      manifest.save();
+    }
+  }
+
+  /**
+   * Fetches chunks on a bounded pool, keeping a window of <code>concurrency</code> requests in flight, and appends each
+   * one as soon as all the chunks before it have been written. Each worker streams its chunk into a spill file next to
+   * the partial file, which is then copied across by the file system, so no chunk is ever held on the heap.
+   * <p>
+   * The spill costs a second write of each chunk, but the server reports no chunk sizes, so the offset of a chunk in
+   * the target is only known once every chunk before it has arrived; a chunk fetched ahead of those has nowhere else to
+   * go but the heap.
+   */
+  private void writeChunksConcurrently(List<ChunkData> chunkList, File partial, RandomAccessFile partialFile,
+      DownloadManifest manifest, int concurrency) throws IOException {
+    int poolSize = Math.min(concurrency, chunkList.size());
+    ExecutorService executor = getService().getExecutorProvider()
+        .newBlockingExecutor("anaplan-chunk-download", poolSize);
+    Deque<Future<File>> inFlight = new ArrayDeque<>(poolSize);
+    try {
+      Iterator<ChunkData> pending = chunkList.iterator();
+      Iterator<ChunkData> committing = chunkList.iterator();
+      while (inFlight.size() < poolSize && pending.hasNext()) {
+        inFlight.add(submitChunkFetch(executor, partial, pending.next()));
+      }
+      while (!inFlight.isEmpty()) {
+        File spill = awaitChunk(inFlight.poll());
+        try (FileChannel source = FileChannel.open(spill.toPath(), StandardOpenOption.READ)) {
+          long size = source.size();
+          long position = 0;
+          while (position < size) {
+            position += source.transferTo(position, size - position, partialFile.getChannel());
+          }
+          commitChunk(partialFile, manifest, committing.next(), size);
+        } finally {
+          Files.deleteIfExists(spill.toPath());
+        }
+        if (pending.hasNext()) {
+          inFlight.add(submitChunkFetch(executor, partial, pending.next()));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      for (Future<File> future : inFlight) {
+        discardSpill(future);
+      }
+    }
+  }
+
+  private Future<File> submitChunkFetch(ExecutorService executor, final File partial, final ChunkData chunk) {
+    return executor.submit(() -> {
+      // Deleted once copied or on failure; a spill left by a killed run is truncated by the next one
+      File spill = new File(partial.getParentFile(), partial.getName() + ".chunk" + chunk.getId());
+      try (FileChannel channel = FileChannel.open(spill.toPath(), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        writeChunkContent(chunk.getId(), channel);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(spill.toPath());
+        throw e;
+      }
+      return spill;
+    });
+  }
+
+  private static void discardSpill(Future<File> future) {
+    if (future.cancel(true) || !future.isDone()) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(future.get().toPath());
+    } catch (Exception e) {
+      LOG.debug("Failed to discard chunk spill file: {}", e.getMessage());
+    }
+  }
+
+  private static File awaitChunk(Future<File> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnaplanInterruptedException("Interrupted while downloading chunks", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new AnaplanChunkException("Failed to read chunk from server", e);
+    }
+  }
+
   /**
    * Create an InputStream implementation which will download the content from the server.
    *
@@ -168,9 +407,32 @@ public class ServerFile extends NamedObject {
    * @since 1.2
    */
   public InputStream getDownloadStream() {
+    return getDownloadStream(Constants.DEFAULT_PREFETCH_CHUNKS, Constants.DEFAULT_PREFETCH_MEMORY_BYTES);
+  }
+
+  /**
+   * Create an InputStream implementation which will download the content from the server, keeping up to
+   * <code>prefetchChunks</code> upcoming chunks downloading in the background so the reader does not wait on the
+   * network between chunks. The stream should be closed to stop any prefetching when it is not read to the end; the
+   * background threads are released on their own once the last chunk has been fetched.
+   *
+   * @param prefetchChunks   the number of chunks fetched ahead of the reader; 0 fetches each chunk on demand
+   * @param maxPrefetchBytes the memory cap for the chunks fetched ahead
+   * @return an InputStream which will read the content stored on the server
+   */
+  public InputStream getDownloadStream(int prefetchChunks, long maxPrefetchBytes) {
     // Get list of chunks from server
     final List<ChunkData> chunkList = getApi().getChunks(getModel().getWorkspace().getId(),
         getModel().getId(), getId()).getItem();
+    if (prefetchChunks > 0 && chunkList != null && chunkList.size() > 1) {
+      return new ChunkPrefetchInputStream(chunkList, chunkId -> {
+        byte[] chunkContent = getChunkContent(chunkId);
+        if (chunkContent == null) {
+          throw new NoChunkError(chunkId);
+        }
+        return chunkContent;
+      }, prefetchChunks, maxPrefetchBytes, getService().getExecutorProvider());
+    }
     return new SequenceInputStream(new Enumeration<InputStream>() {
       int index = 0;
 
@@ -222,11 +484,11 @@ public class ServerFile extends NamedObject {
       }
 
       /**
-       * Nothing to do
+       * Stops any chunks still being fetched ahead
        */
       @Override
-      public void close() {
-        //Nothing to do
+      public void close() throws IOException {
+        lnr.close();
       }
     };
   }
@@ -239,6 +501,37 @@ public class ServerFile extends NamedObject {
    *                       a FileException will be thrown
    */
   public void upLoad(File source, boolean deleteExisting, int chunkSize) throws IOException {
+    upLoad(source, deleteExisting, chunkSize, Constants.MIN_TRANSFER_CONCURRENCY);
+  }
+
+  /**
+   * Upload a file to the server, compressing and sending up to <code>concurrency</code> chunks in parallel while the
+   * next chunks are being read from the source.
+   *
+   * @param source         The source file to upload
+   * @param deleteExisting If true, the target server file will automatically be deleted if it already exists; otherwise
+   *                       a FileException will be thrown
+   * @param chunkSize      The maximum size of a chunk in bytes
+   * @param concurrency    The maximum number of chunk uploads in flight
+   */
+  public void upLoad(File source, boolean deleteExisting, int chunkSize, int concurrency) throws IOException {
+    upLoad(source, deleteExisting, chunkSize, concurrency, false);
+  }
+
+  /**
+   * Upload a file to the server, optionally resuming an earlier upload of the same source. In resume mode a manifest of
+   * the chunk boundaries and of the chunks accepted by the server is kept next to the source; a later call for the same
+   * unmodified source skips creating the data source again and only sends the chunks still missing.
+   *
+   * @param source         The source file to upload
+   * @param deleteExisting If true, the target server file will automatically be deleted if it already exists; otherwise
+   *                       a FileException will be thrown
+   * @param chunkSize      The maximum size of a chunk in bytes
+   * @param concurrency    The maximum number of chunk uploads in flight
+   * @param resume         If true, keep track of sent chunks and continue an interrupted upload
+   */
+  public void upLoad(File source, boolean deleteExisting, int chunkSize, int concurrency, boolean resume)
+      throws IOException {
     LogUtils.logSeparatorUpload();
     LOG.info("Uploading file: {}", source.getAbsolutePath());
     Utils.isFileAndReadable(source.toPath());
@@ -247,65 +540,114 @@ public class ServerFile extends NamedObject {
     if (separators.size() > 1) {
       throw new IllegalStateException(ERROR_MULTIPLE_SEPPARATORS + source.getName());
     }
-    try (RandomAccessFile sourceFile = new RandomAccessFile(source, "r")) {
+    try (FileChannel sourceChannel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
       long length = source.length();
       data.setChunkCount((int) ((length - 1) / chunkSize) + 1);
-      ServerFileResponse response = getApi()
-          .upsertFileDataSource(getWorkspace().getId(), getModel().getId(), getId(), data);
-      if (response == null || response.getItem() == null) {
-        throw new CreateImportDatasourceError(getName());
+      UploadManifest manifest = resume
+          ? TransferManifest.load(UploadManifest.locate(source), UploadManifest.class) : null;
+      List<ChunkData> chunkList = null;
+      if (manifest != null && manifest.matches(getId(), source, chunkSize)) {
+        chunkList = fetchUploadChunks();
       }
-      data = setServerFile(response, data);
-      // Get list of chunks from server
-      ChunksResponse chunks = getApi().getChunks(getWorkspace().getId(), getModel().getId(), getId());
-      if (chunks == null || chunks.getItem() == null) {
-        throw new CreateImportDatasourceError(getName());
-      }
-      List<ChunkData> chunkList = chunks.getItem();
-      Iterator<ChunkData> chunkIterator = chunkList.iterator();
-      byte[] buffer = new byte[chunkSize];
-
-      long totalReadSoFar = 0;
-      while (chunkIterator.hasNext()) {
-        ChunkData chunk = chunkIterator.next();
-        int size = chunkSize;
-        if (!chunkIterator.hasNext()) {
-          size = (int) (length - totalReadSoFar);
+      if (chunkList != null && manifest.matchesChunks(chunkList)) {
+        LOG.info("Resuming upload, {} of {} chunks already sent", manifest.getSentCount(), chunkList.size());
+      } else {
+        ServerFileResponse response = getApi()
+            .upsertFileDataSource(getWorkspace().getId(), getModel().getId(), getId(), data);
+        if (response == null || response.getItem() == null) {
+          throw new CreateImportDatasourceError(getName());
+        }
+        data = setServerFile(response, data);
+        // Get list of chunks from server
+        chunkList = fetchUploadChunks();
+        if (chunkList == null) {
+          throw new CreateImportDatasourceError(getName());
         }
-        if (size != buffer.length) {
-          buffer = new byte[size];
+        manifest = null;
+        if (resume) {
+          manifest = UploadManifest.start(UploadManifest.locate(source), getId(), source, chunkSize, chunkList);
+          manifest.save();
+        }
+      }
+      ChunkCompressor compressor = getService().getChunkCompressor();
+      BiConsumer<String, byte[]> uploader = manifest == null ? this::uploadChunk : trackSentChunks(manifest);
+      if (concurrency > 1 && chunkList.size() > 1) {
+        try (ChunkUploadPipeline pipeline = new ChunkUploadPipeline(concurrency, compressor,
+            getService().getExecutorProvider(), uploader)) {
+          readChunks(sourceChannel, length, chunkList, chunkSize, manifest, pipeline::submit);
+          pipeline.await();
         }
-        sourceFile.readFully(buffer, 0, size);
-        //reading the last index of the separator
-        int separatorLastIndex = lastIndexOf(buffer, data.getSeparator());
-        //determining the byte offset based on UTF-16LE encoding
-        int offset = data.getEncoding().equalsIgnoreCase("UTF-16LE") ? 2 : 1;
-        //calculating the size of byte array to load the bytes until the last index of separator
-        int finalSize = separatorLastIndex < 0 ? buffer.length : separatorLastIndex + offset;
-        //creating the buffer to load the byte array until last separator
-        byte[] finalBuffer = new byte[finalSize];
-        //copying the data from existing byte array to new byte array until last separator
-        System.arraycopy(buffer, 0, finalBuffer, 0, finalSize);
-        //calculating the total read size from the file
-        totalReadSoFar += finalSize;
-        //checking if there is another chunk to decide if to upload the newly created buffer or existing buffer.
-        //existing buffer will be uploaded in case of last chunk
-        uploadChunk(chunkIterator, finalBuffer, buffer, chunk.getId());
-        sourceFile.seek(totalReadSoFar);
-        LOG.debug("Uploaded chunk: {} (size={}MB)", chunk.getId(), chunkSize / 1000000);
+      } else {
+        readChunks(sourceChannel, length, chunkList, chunkSize, manifest,
+            (chunkId, content) -> uploader.accept(chunkId, compressor.compress(content)));
+      }
+      if (manifest != null) {
+        manifest.delete();
       }
     }
   }
 
-  private void uploadChunk(final Iterator<ChunkData> chunkIterator, final byte[] finalBuffer, byte[] buffer, String chunkId){
-    if (chunkIterator.hasNext()) {
-      getApi()
-          .uploadChunkCompressed(getWorkspace().getId(), getModel().getId(), getId(), chunkId, finalBuffer);
-    } else {
-      getApi().uploadChunkCompressed(getWorkspace().getId(), getModel().getId(), getId(), chunkId, buffer);
+  private List<ChunkData> fetchUploadChunks() {
+    ChunksResponse chunks = getApi().getChunks(getWorkspace().getId(), getModel().getId(), getId());
+    return chunks == null ? null : chunks.getItem();
+  }
+
+  private BiConsumer<String, byte[]> trackSentChunks(final UploadManifest manifest) {
+    return (chunkId, content) -> {
+      uploadChunk(chunkId, content);
+      try {
+        manifest.markSent(chunkId);
+      } catch (IOException e) {
+        throw new AnaplanIOException(e);
+      }
+    };
+  }
+
+  /**
+   * Maps the source chunk by chunk, cutting every chunk but the last one back to its last record terminator (or column
+   * separator) so that no record is split across chunks, and passes a slice of each mapped chunk on for upload. The
+   * chunk content is never copied onto the heap here. Chunks the manifest reports as sent are skipped without being
+   * mapped again.
+   */
+  private void readChunks(FileChannel sourceChannel, long length, List<ChunkData> chunkList, int chunkSize,
+      UploadManifest manifest, BiConsumer<String, ByteBuffer> consumer) throws IOException {
+    ChunkBoundaryDetector boundaryDetector = new ChunkBoundaryDetector(data.getSeparator(), data.getEncoding());
+
+    long totalReadSoFar = 0;
+    for (int index = 0; index < chunkList.size(); index++) {
+      ChunkData chunk = chunkList.get(index);
+      boolean lastChunk = index == chunkList.size() - 1;
+      if (manifest != null && manifest.isSent(chunk.getId()) && manifest.getBoundary(index) >= 0) {
+        totalReadSoFar = manifest.getBoundary(index);
+        continue;
+      }
+      long size = lastChunk ? length - totalReadSoFar : chunkSize;
+      if (totalReadSoFar + size > length) {
+        throw new EOFException("Source ended before chunk " + chunk.getId());
+      }
+      MappedByteBuffer chunkBuffer = sourceChannel.map(FileChannel.MapMode.READ_ONLY, totalReadSoFar, size);
+      int finalSize = (int) size;
+      if (!lastChunk) {
+        //cutting the slice to upload after the last record terminator, or failing that the last separator
+        int boundary = boundaryDetector.lastBoundary(chunkBuffer);
+        finalSize = boundary < 0 ? finalSize : boundary;
+      }
+      totalReadSoFar = lastChunk ? length : totalReadSoFar + finalSize;
+      if (manifest != null) {
+        manifest.recordBoundary(index, totalReadSoFar);
+      }
+      ByteBuffer content = chunkBuffer.duplicate();
+      content.limit(finalSize);
+      consumer.accept(chunk.getId(), content.slice());
+      LOG.debug("Read chunk: {} (size={}MB)", chunk.getId(), chunkSize / 1000000);
     }
   }
 
+  private void uploadChunk(String chunkId, byte[] content) {
+    getApi().uploadChunkPrecompressed(getWorkspace().getId(), getModel().getId(), getId(), chunkId, content);
+    LOG.debug("Uploaded chunk: {}", chunkId);
+  }
+
   private ServerFileData setServerFile(final ServerFileResponse response, final ServerFileData data) {
     ServerFileData dataResponse = response.getItem();
     if (data.getHeaderRow() != null && data.getHeaderRow() == -1) {
@@ -352,20 +694,7 @@ public class ServerFile extends NamedObject {
    * @return last index of a single byte separator
    */
   public int lastIndexOf(byte[] outerArray, String separator) {
-    byte[] smallerArray = separator.getBytes();
-    for (int i = outerArray.length - smallerArray.length; i > 0; --i) {
-      boolean found = true;
-      for (int j = 0; j < smallerArray.length; ++j) {
-        if (outerArray[i + j] != smallerArray[j]) {
-          found = false;
-          break;
-        }
-      }
-      if (found) {
-        return i;
-      }
-    }
-    return -1;
+    return ChunkBoundaryDetector.lastIndexOf(ByteBuffer.wrap(outerArray), separator.getBytes(), 1, 1);
   }
 
   /**
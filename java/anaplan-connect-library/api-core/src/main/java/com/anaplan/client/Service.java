@@ -15,12 +15,14 @@ package com.anaplan.client;
 
 import com.anaplan.client.api.AnaplanAPI;
 import com.anaplan.client.auth.Authenticator;
+import com.anaplan.client.auth.Credentials;
 import com.anaplan.client.dto.ListItem;
 import com.anaplan.client.dto.ListMetadata;
 import com.anaplan.client.dto.ListName;
 import com.anaplan.client.dto.ModelData;
 import com.anaplan.client.dto.ModuleData;
 import com.anaplan.client.dto.ViewData;
+import com.anaplan.client.dto.WorkspaceData;
 import com.anaplan.client.dto.responses.ListItemsResponse;
 import com.anaplan.client.dto.responses.ListMetadataResponse;
 import com.anaplan.client.dto.responses.ListNamesResponse;
@@ -40,6 +42,7 @@ import com.anaplan.client.exceptions.WorkspaceNotFoundException;
 import com.anaplan.client.listwriter.ListItemFileWriter;
 import com.anaplan.client.listwriter.ListMetadataCsvWriter;
 import com.anaplan.client.listwriter.ListNamesCsvWriter;
+import com.anaplan.client.transport.ChunkCompressor;
 import com.anaplan.client.transport.ConnectionProperties;
 import com.anaplan.client.transport.Paginator;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -50,6 +53,7 @@ import java.io.File;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.net.URI;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -82,6 +86,10 @@ public class Service implements Closeable {
   }
 
   private final ConnectionProperties props;
+  private final ChunkCompressor chunkCompressor;
+  private final ExecutorProvider executorProvider;
+  private final MetadataCatalog metadataCatalog;
+  private volatile TaskExecutor taskExecutor;
   private Supplier<AnaplanAPI> apiProvider;
   private Authenticator authProvider;
 
@@ -97,6 +105,15 @@ public class Service implements Closeable {
     }
     LOG.info("Initializing Service...");
     this.props = properties;
+    this.executorProvider = ExecutorProvider.from(properties);
+    this.chunkCompressor = ChunkCompressor.from(properties, executorProvider);
+    int metadataCacheTtl = Optional.ofNullable(properties.getMetadataCacheTtl())
+        .orElse(Constants.DEFAULT_METADATA_CACHE_TTL_SECS);
+    this.metadataCatalog = new MetadataCatalog(metadataCacheTtl);
+    if (properties.getMetadataSnapshot() != null && metadataCacheTtl > 0) {
+      metadataCatalog.setSnapshot(new MetadataSnapshot(Paths.get(properties.getMetadataSnapshot()),
+          snapshotIdentity(properties), metadataCacheTtl));
+    }
     this.authProvider = authProvider;
     this.apiProvider = apiProvider;
   }
@@ -117,6 +134,64 @@ public class Service implements Closeable {
     this.authProvider = authProvider;
   }
 
+  /**
+   * @return the gzip settings applied to file-chunk uploads
+   */
+  public ChunkCompressor getChunkCompressor() {
+    return chunkCompressor;
+  }
+
+  /**
+   * @return the executors for transfers, task tracking and list batches
+   */
+  public ExecutorProvider getExecutorProvider() {
+    return executorProvider;
+  }
+
+  /**
+   * @return the cached listings that workspace, model and model object names are resolved against
+   */
+  public MetadataCatalog getMetadataCatalog() {
+    return metadataCatalog;
+  }
+
+  /**
+   * @return the executor that runs and tracks the tasks of this service, created on first use
+   */
+  public TaskExecutor getTaskExecutor() {
+    if (taskExecutor == null) {
+      synchronized (this) {
+        if (taskExecutor == null) {
+          taskExecutor = new TaskExecutor(executorProvider);
+        }
+      }
+    }
+    return taskExecutor;
+  }
+
+  /**
+   * @return true while the tasks of this service are being cancelled because the client is terminated
+   */
+  public boolean isClosingDown() {
+    TaskExecutor executor = taskExecutor;
+    return executor != null && executor.isClosingDown();
+  }
+
+  /**
+   * Identifies the API service and user whose listings a metadata snapshot holds, as different users may see different
+   * workspaces and models.
+   */
+  private static String snapshotIdentity(ConnectionProperties properties) {
+    Credentials credentials = properties.getApiCredentials();
+    String user = properties.getClientId();
+    if (credentials != null && credentials.getUserName() != null) {
+      user = credentials.getUserName();
+    } else if (credentials != null && credentials.getCertificate() != null) {
+      user = credentials.getCertificate().getSubjectX500Principal().getName();
+    }
+    return properties.getApiServicesUri() + "|" + user;
+  }
+
   /**
    * Authenticates using provided credentials
    */
@@ -274,12 +349,9 @@ public class Service implements Closeable {
 
     if (workspace == null) {
       try {
-        for (Workspace w : getWorkspaces()) {
-          if (workspaceIdOrName.equals(w.getId()) || workspaceIdOrName.equalsIgnoreCase(w.getName())) {
-            workspace = w;
-            break;
-          }
-        }
+        workspace = metadataCatalog.find(Workspace.class, MetadataCatalog.scope(), workspaceIdOrName,
+            this::getWorkspaces, w -> new String[]{w.getId(), null, w.getName()},
+            new MetadataCatalog.Codec<>(WorkspaceData.class, Workspace::getData, data -> new Workspace(this, data)));
       } catch (Exception e) {
         throw new WorkspaceNotFoundException(workspaceIdOrName);
       }
@@ -351,13 +423,7 @@ public class Service implements Closeable {
       LOG.error("A model ID must be provided");
       return null;
     }
-    Model model = null;
-    for (Model m : workspace.getModels()) {
-      if (modelId.equals(m.getId()) || modelId.equalsIgnoreCase(m.getName())) {
-        model = m;
-        break;
-      }
-    }
+    Model model = workspace.findModel(modelId);
     if (model == null) {
       LOG.error("Model \"{}\" not found in workspace \"{}\"", modelId, workspaceId);
     }
@@ -597,6 +663,18 @@ public class Service implements Closeable {
    */
   @Override
   public void close() {
+    TaskExecutor executor = taskExecutor;
+    if (executor != null) {
+      executor.close();
+    }
+    chunkCompressor.close();
+    if (apiProvider instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) apiProvider).close();
+      } catch (Exception e) {
+        LOG.debug("Failed to release the API connections: {}", e.getMessage());
+      }
+    }
     if (apiProvider != null) {
       apiProvider = null;
       authProvider = null;
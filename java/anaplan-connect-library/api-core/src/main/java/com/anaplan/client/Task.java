@@ -19,6 +19,12 @@ import com.anaplan.client.exceptions.AnaplanAPIException;
 import com.anaplan.client.exceptions.InvalidTaskStatusError;
 import com.anaplan.client.logging.LogUtils;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,11 +34,11 @@ import org.slf4j.LoggerFactory;
 public class Task extends AnaplanApiClientObject {
 
   private static final Logger LOG = LoggerFactory.getLogger(Task.class);
-  private static Thread runningThread;
-  private static boolean closingDown = false;
-  private static Task runningTask;
   private TaskFactory subject;
   private TaskData data;
+  // a lock rather than the monitor, so a virtual thread waiting between polls does not pin its carrier thread
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pollTimer = lock.newCondition();
 
   private Task(){
     super(null);
@@ -41,39 +47,6 @@ public class Task extends AnaplanApiClientObject {
     super(subject.getModel().getWorkspace().getService());
     this.subject = subject;
     this.data = data;
-    init();
-  }
-
-  /**
-   * Fetches the running task if any
-   *
-   * @return {@link Task}
-   */
-
-  private void init() {
-    {
-      try {
-        Thread cancelThread = new Thread(() -> {
-          closingDown = true;
-          Thread runner = runningThread;
-          if (runner != null) {
-            try {
-              runner.interrupt();
-            } catch (Exception thrown) {
-              LOG.debug("{0}", thrown);
-            }
-          }
-          cancelRunningTask(runningTask);
-        });
-        cancelThread.setDaemon(true);
-        Runtime.getRuntime().addShutdownHook(cancelThread);
-      } catch (Exception thrown) {
-        thrown.printStackTrace();
-      }
-    }
-  }
-  public static Task getRunningTask() {
-    return runningTask;
   }
 
   TaskFactory getSubject() {
@@ -113,96 +86,91 @@ public class Task extends AnaplanApiClientObject {
 
   /**
    * Track the progress of a task on the server until completion. If run from a command line (ie <tt>System.console() !=
-   * null</tt>) the progress will be displayed on the controlling terminal.
+   * null</tt>) the progress will be displayed on the controlling terminal. The task is tracked by the
+   * {@link TaskExecutor} of the service, which cancels it if the client is terminated meanwhile.
    *
    * @return the result following completion of the task; null otherwise
    */
-  public synchronized TaskResult runTask() throws AnaplanAPIException, InterruptedException {
-    runningThread = Thread.currentThread();
-    runningTask = this;
-    TaskResult result = trackRunningTask(runningTask, false);
-    runningTask = null;
-    runningThread = null;
-    return result;
+  public TaskResult runTask() throws AnaplanAPIException, InterruptedException {
+    return getService().getTaskExecutor().run(this);
+  }
+
+  /**
+   * Track the progress of a task on the server through the {@link TaskExecutor} of the service, without waiting for it.
+   *
+   * @return the handle through which to await the result or cancel the task
+   */
+  public TaskHandle submit() {
+    return getService().getTaskExecutor().submit(this);
+  }
+
+  /**
+   * Track the progress of a task on the server until completion, without holding a thread while waiting.
+   *
+   * @param executor runs the stages that depend on the result
+   * @return a future of the result following completion of the task
+   */
+  public CompletableFuture<TaskResult> runTaskAsync(Executor executor) {
+    return submit().toCompletableFuture().thenApplyAsync(Function.identity(), executor);
   }
 
   /**
-   * Cancels the running task, called only when the client is terminated.
+   * Cancels the task and waits briefly for the server to confirm, called only when the client is terminated.
    */
-  private  synchronized void cancelRunningTask(Task runningTask) {
-    if (runningTask != null) {
-      try {
-        if (System.console() != null) {
-          System.console().printf("\rClient terminated, cancelling...");
-        }
-        LOG.info("Cancelling task. Task ID - {}.", runningTask.getId());
-        runningTask.cancel();
-        trackRunningTask(runningTask, true);
-        if (TaskStatus.State.CANCELLED == runningTask.getStatus().getTaskState()) {
-          LOG.info("Task successfully cancelled. Task ID - {}.", runningTask.getId());
-        }
-      } catch (Exception thrown) {
-        LOG.debug("{}", Throwables.getStackTraceAsString(thrown));
-        LOG.error(Utils.formatThrowable(thrown));
-      } finally {
-        System.exit(1);
-        try {
-          Thread.currentThread().join();
-        } catch (InterruptedException e) {
-          LOG.error("Could not cancel running task!", e);
-          Thread.currentThread().interrupt();
-        }
+  void cancelAndAwait() {
+    try {
+      LOG.info("Cancelling task. Task ID - {}.", getId());
+      cancel();
+      TaskStatus status = awaitCancellation();
+      if (status != null && TaskStatus.State.CANCELLED == status.getTaskState()) {
+        LOG.info("Task successfully cancelled. Task ID - {}.", getId());
       }
+    } catch (InterruptedException e) {
+      LOG.error("Could not cancel running task!", e);
+      Thread.currentThread().interrupt();
+    } catch (Exception thrown) {
+      LOG.debug("{}", Throwables.getStackTraceAsString(thrown));
+      LOG.error(Utils.formatThrowable(thrown));
     }
   }
 
   /**
-   * Thread safe method to run the task and keep checking the run-status intermittently.
-   *
-   * @param wasClosingDown if false the error is thrown
-   * @return {@link TaskResult}
-   * @throws AnaplanAPIException api error
-   * @throws InterruptedException interrupted exception
+   * Checks the status a couple of times while the server rolls the task back.
    */
-  private synchronized TaskResult trackRunningTask(Task runningTask, boolean wasClosingDown)
-      throws AnaplanAPIException, InterruptedException {
+  private TaskStatus awaitCancellation() throws InterruptedException {
     TaskStatus status = null;
-    int interval = 1000;
-    int totalTime = 0;
-    int failCount = 0;
+    lock.lock();
     try {
+      int totalTime = 0;
+      int interval = 1000;
       do {
-        if (!wasClosingDown && closingDown) {
-          throw new InterruptedException();
-        }
-        this.wait(interval);
+        pollTimer.await(interval, TimeUnit.MILLISECONDS);
         totalTime += interval;
+        interval = 500;
+        status = getStatus();
+        logStatus(status);
+      } while (totalTime <= 1000 && !isFinished(status));
+    } finally {
+      lock.unlock();
+      logFinal(status);
+    }
+    return status;
+  }
 
-        interval = getInterval(wasClosingDown, totalTime);
+  /**
+   * @return true if the task has completed or been cancelled
+   */
+  static boolean isFinished(TaskStatus status) {
+    return status != null && (status.getTaskState() == TaskStatus.State.COMPLETE
+        || status.getTaskState() == TaskStatus.State.CANCELLED);
+  }
 
-        try {
-          status = runningTask.getStatus();
-          failCount = 0;
-        } catch (AnaplanAPIException thrown) {
-          status = null;
-          // Allow up to 30 attempts before giving up.
-          if (++failCount > 30) {
-            throw new AnaplanAPIException(
-                "Task was started, but server cannot be reached"
-                    + " - giving up after 30 attempts", thrown);
-          }
-          LOG.debug("Failed to get status ({}); retrying in {}s\n", Utils.formatThrowable(thrown), interval / 1000);
-          LOG.info("Checking in {}s", interval / 1000);
-        }
-        LOG.info("Run status: {}", getLogText(status));
+  void logStatus(TaskStatus status) {
+    LOG.info("Run status: {}", getLogText(status));
+  }
 
-      } while (!(wasClosingDown && totalTime > 1000) && (status == null || !(
-          status.getTaskState() == TaskStatus.State.COMPLETE ||
-              status.getTaskState() == TaskStatus.State.CANCELLED)));
-    } finally {
-        solveFinal(status);
-    }
-    return (status != null) ? status.getResult() : null;
+  void logFinal(TaskStatus status) {
+    solveFinal(status);
   }
 
   private static String getLogText(final TaskStatus status) {
@@ -224,20 +192,6 @@ public class Task extends AnaplanApiClientObject {
   }
 
 
-  private static int getInterval(boolean wasClosingDown, int totalTime){
-    int interval;
-    if (wasClosingDown) {
-      interval = 500;
-    } else if (totalTime > 60000) {
-      interval = 60000;
-    } else if (totalTime > 10000) {
-      interval = 10000;
-    } else {
-      interval = 1000;
-    }
-    return interval;
-  }
-
   private static void solveFinal(TaskStatus status) {
     if (status == null || status.getResult() == null) {
       LOG.info("No result was provided.");
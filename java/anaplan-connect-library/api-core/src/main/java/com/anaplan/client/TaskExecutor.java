@@ -0,0 +1,160 @@
+package com.anaplan.client;
+
+import com.anaplan.client.exceptions.AnaplanAPIException;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs tasks on the server and tracks them until they complete, any number at a time.
+ * <p>
+ * The status of every task is checked by one {@link TaskPoller}, so tasks against different models proceed side by
+ * side without a thread waiting on each. One shutdown hook serves all of them: when the JVM is terminated, tracking
+ * stops and every task still running is cancelled on the server, in parallel, so the models are not left busy with
+ * work nobody is waiting for.
+ */
+public class TaskExecutor implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskExecutor.class);
+  private static final long CANCEL_TIMEOUT_SECS = 30;
+
+  private final ExecutorProvider executors;
+  private final Set<TaskHandle> running = ConcurrentHashMap.newKeySet();
+  private final Thread shutdownHook;
+  private volatile ExecutorService requests;
+  private volatile TaskPoller poller;
+  private volatile boolean closingDown;
+
+  /**
+   * Creates the executor and registers its shutdown hook, which {@link #close()} removes again.
+   *
+   * @param executors creates the threads tasks are tracked on
+   */
+  public TaskExecutor(ExecutorProvider executors) {
+    this.executors = executors;
+    this.shutdownHook = Utils.daemonThreadFactory("anaplan-task-shutdown").newThread(this::cancelAll);
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  /**
+   * Starts tracking a task, without waiting for it.
+   *
+   * @param task the task, as created by {@link TaskFactory#createTask(TaskParameters)}
+   * @return the handle of the task
+   */
+  public TaskHandle submit(Task task) {
+    TaskPoller taskPoller = poller();
+    TaskHandle handle = new TaskHandle(task, taskPoller);
+    running.add(handle);
+    handle.whenDone(() -> running.remove(handle));
+    taskPoller.start(handle);
+    return handle;
+  }
+
+  /**
+   * Tracks a task until it completes. If the calling thread is interrupted, tracking stops and the task carries on on
+   * the server.
+   *
+   * @param task the task, as created by {@link TaskFactory#createTask(TaskParameters)}
+   * @return the result following completion of the task; null otherwise
+   */
+  public TaskResult run(Task task) throws AnaplanAPIException, InterruptedException {
+    TaskHandle handle = submit(task);
+    try {
+      return handle.getResult();
+    } catch (InterruptedException e) {
+      handle.abandon(e);
+      throw e;
+    }
+  }
+
+  /**
+   * @return the tasks being tracked
+   */
+  public Collection<TaskHandle> getRunningTasks() {
+    return Collections.unmodifiableCollection(new ArrayList<>(running));
+  }
+
+  /**
+   * @return true once the JVM is terminating and the running tasks are being cancelled
+   */
+  public boolean isClosingDown() {
+    return closingDown;
+  }
+
+  /**
+   * Stops tracking and cancels every running task on the server, waiting for each to confirm the cancellation. Run by
+   * the shutdown hook; tasks submitted afterwards are refused.
+   */
+  public void cancelAll() {
+    closingDown = true;
+    List<TaskHandle> cancelling = new ArrayList<>(running);
+    if (cancelling.isEmpty()) {
+      return;
+    }
+    if (System.console() != null) {
+      System.console().printf("\rClient terminated, cancelling...");
+    }
+    cancelling.forEach(handle -> handle.abandon(new InterruptedException("Client terminated")));
+    ThreadFactory threads = Utils.daemonThreadFactory("anaplan-task-cancel");
+    List<Thread> cancellers = new ArrayList<>();
+    for (TaskHandle handle : cancelling) {
+      Thread canceller = threads.newThread(() -> handle.getTask().cancelAndAwait());
+      canceller.start();
+      cancellers.add(canceller);
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CANCEL_TIMEOUT_SECS);
+    try {
+      for (Thread canceller : cancellers) {
+        canceller.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Could not cancel running tasks!", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Removes the shutdown hook and stops tracking. Tasks still running are left to complete on the server, and their
+   * handles fail.
+   */
+  @Override
+  public void close() {
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException e) {
+      // the JVM is already shutting down and running the hook
+    }
+    synchronized (this) {
+      if (poller != null) {
+        poller.shutdown();
+        requests.shutdown();
+      }
+    }
+    running.forEach(handle -> handle.fail(new AnaplanAPIException("Task tracking has been closed")));
+  }
+
+  private TaskPoller poller() {
+    if (closingDown) {
+      throw new AnaplanAPIException("The client is shutting down, no more tasks can be run");
+    }
+    if (poller == null) {
+      synchronized (this) {
+        if (poller == null) {
+          requests = executors.newBlockingExecutor("anaplan-task-status", Constants.DEFAULT_TASK_TRACKING_THREADS);
+          poller = new TaskPoller(requests);
+        }
+      }
+    }
+    return poller;
+  }
+}
@@ -0,0 +1,121 @@
+package com.anaplan.client;
+
+import com.anaplan.client.exceptions.AnaplanAPIException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A task run by a {@link TaskExecutor}, through which its result is awaited or the task cancelled.
+ */
+public final class TaskHandle {
+
+  private final Task task;
+  private final TaskPoller poller;
+  private final CompletableFuture<TaskResult> result = new CompletableFuture<>();
+
+  TaskHandle(Task task, TaskPoller poller) {
+    this.task = task;
+    this.poller = poller;
+  }
+
+  /**
+   * @return the task on the server
+   */
+  public Task getTask() {
+    return task;
+  }
+
+  /**
+   * @return true once the task has completed, been cancelled or could no longer be tracked
+   */
+  public boolean isDone() {
+    return result.isDone();
+  }
+
+  /**
+   * Waits for the task to complete.
+   *
+   * @return the result of the task, or null if the server provided none
+   * @throws AnaplanAPIException   the task could not be tracked
+   * @throws CancellationException the task was cancelled through this handle
+   * @throws InterruptedException  the wait, or the tracking of the task, was interrupted
+   */
+  public TaskResult getResult() throws AnaplanAPIException, InterruptedException {
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * Waits for the task to complete, for at most the given time.
+   *
+   * @return the result of the task, or null if the server provided none
+   * @throws TimeoutException the task did not complete in time
+   */
+  public TaskResult getResult(long timeout, TimeUnit unit)
+      throws AnaplanAPIException, InterruptedException, TimeoutException {
+    try {
+      return result.get(timeout, unit);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * @return a future of the result, for composing with other work
+   */
+  public CompletableFuture<TaskResult> toCompletableFuture() {
+    return result.thenApply(taskResult -> taskResult);
+  }
+
+  /**
+   * Asks the server to cancel the task and stops tracking it. As with {@link Task#cancel()}, the server only stops a
+   * task that can roll back its changes.
+   *
+   * @return the status of the task after the request
+   */
+  public TaskStatus cancel() throws AnaplanAPIException {
+    TaskStatus status = task.cancel();
+    abandon(new CancellationException("Task " + task.getId() + " was cancelled"));
+    return status;
+  }
+
+  /**
+   * Runs an action once the handle completes, however the task ends.
+   */
+  void whenDone(Runnable action) {
+    result.whenComplete((taskResult, thrown) -> action.run());
+  }
+
+  void complete(TaskResult taskResult) {
+    result.complete(taskResult);
+  }
+
+  void fail(Throwable thrown) {
+    result.completeExceptionally(thrown);
+  }
+
+  /**
+   * Stops tracking the task, which carries on on the server, and completes the handle with the reason.
+   */
+  void abandon(Throwable reason) {
+    poller.stop(this);
+    result.completeExceptionally(reason);
+  }
+
+  private static RuntimeException unwrap(ExecutionException e) throws InterruptedException {
+    Throwable cause = e.getCause();
+    if (cause instanceof InterruptedException) {
+      throw (InterruptedException) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new AnaplanAPIException("Task tracking failed", cause);
+  }
+}
@@ -0,0 +1,182 @@
+package com.anaplan.client;
+
+import com.anaplan.client.exceptions.AnaplanAPIException;
+import com.anaplan.client.exceptions.CircuitOpenException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the status of all the tasks of a {@link TaskExecutor} from one timer thread, rather than parking a thread per
+ * task between polls.
+ * <p>
+ * Each task is polled again after a delay adapted to it. Once a task reports progress, its rate of progress gives an
+ * estimate of when it completes, and the next poll is due half way to that estimate, so polls close in on the
+ * completion instead of overshooting it by a fixed step. Until then the delay grows with the time the task has run.
+ * Status requests run on the blocking executor given, so a slow response delays no other task.
+ */
+final class TaskPoller {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskPoller.class);
+  static final long MIN_INTERVAL_MILLIS = 1000;
+  static final long MAX_INTERVAL_MILLIS = 30000;
+  private static final int MAX_FAILED_POLLS = 30;
+
+  private final ScheduledThreadPoolExecutor timer;
+  private final Executor requests;
+  private final Map<TaskHandle, Polling> polling = new ConcurrentHashMap<>();
+
+  /**
+   * @param requests runs the status requests
+   */
+  TaskPoller(Executor requests) {
+    this.requests = requests;
+    this.timer = new ScheduledThreadPoolExecutor(1, Utils.daemonThreadFactory("anaplan-task-poller"));
+    this.timer.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Starts polling a task, completing its handle once the task is complete or cancelled.
+   */
+  void start(TaskHandle handle) {
+    Polling state = new Polling(System.currentTimeMillis());
+    polling.put(handle, state);
+    schedule(handle, state, MIN_INTERVAL_MILLIS);
+  }
+
+  /**
+   * Stops polling a task, leaving its handle to be completed by the caller.
+   */
+  void stop(TaskHandle handle) {
+    Polling state = polling.remove(handle);
+    if (state != null && state.next != null) {
+      state.next.cancel(false);
+    }
+  }
+
+  void shutdown() {
+    timer.shutdownNow();
+    polling.clear();
+  }
+
+  private void schedule(TaskHandle handle, Polling state, long delay) {
+    try {
+      state.next = timer.schedule(() -> dispatch(handle, state), delay, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      fail(handle, state, new AnaplanAPIException("Task tracking has been shut down", e));
+    }
+  }
+
+  private void dispatch(TaskHandle handle, Polling state) {
+    try {
+      requests.execute(() -> poll(handle, state));
+    } catch (RejectedExecutionException e) {
+      fail(handle, state, new AnaplanAPIException("Task tracking has been shut down", e));
+    }
+  }
+
+  private void poll(TaskHandle handle, Polling state) {
+    if (polling.get(handle) != state) {
+      return;
+    }
+    Task task = handle.getTask();
+    TaskStatus status;
+    try {
+      status = task.getStatus();
+      state.failures = 0;
+    } catch (CircuitOpenException thrown) {
+      // the server has failed repeatedly already, do not keep polling it
+      fail(handle, state, thrown);
+      return;
+    } catch (AnaplanAPIException thrown) {
+      if (++state.failures > MAX_FAILED_POLLS) {
+        fail(handle, state, new AnaplanAPIException(
+            "Task was started, but server cannot be reached - giving up after " + MAX_FAILED_POLLS + " attempts",
+            thrown));
+        return;
+      }
+      long delay = nextDelay(System.currentTimeMillis() - state.startedAt, -1, 0);
+      LOG.debug("Failed to get status ({}); retrying in {}s\n", Utils.formatThrowable(thrown), delay / 1000);
+      LOG.info("Checking in {}s", delay / 1000);
+      schedule(handle, state, delay);
+      return;
+    } catch (RuntimeException thrown) {
+      fail(handle, state, thrown);
+      return;
+    }
+    state.last = status;
+    task.logStatus(status);
+    if (Task.isFinished(status)) {
+      polling.remove(handle, state);
+      task.logFinal(status);
+      handle.complete(status.getResult());
+    } else {
+      long now = System.currentTimeMillis();
+      schedule(handle, state, nextDelay(now - state.startedAt, status.getProgress(), state.progressRate(status, now)));
+    }
+  }
+
+  private void fail(TaskHandle handle, Polling state, RuntimeException thrown) {
+    if (polling.remove(handle, state)) {
+      handle.getTask().logFinal(state.last);
+      handle.fail(thrown);
+    }
+  }
+
+  /**
+   * Chooses the delay until the next poll of a task.
+   *
+   * @param elapsed      how long the task has been tracked, in milliseconds
+   * @param progress     the fraction of the task done, or a negative number if unknown
+   * @param progressRate the fraction done per millisecond, or 0 if unknown
+   * @return the delay in milliseconds
+   */
+  static long nextDelay(long elapsed, double progress, double progressRate) {
+    long delay;
+    if (progress >= 0 && progressRate > 0) {
+      delay = (long) ((1 - progress) / progressRate / 2);
+    } else {
+      delay = elapsed / 4;
+    }
+    return Math.max(MIN_INTERVAL_MILLIS, Math.min(MAX_INTERVAL_MILLIS, delay));
+  }
+
+  /**
+   * The polling of one task.
+   */
+  private static final class Polling {
+
+    private final long startedAt;
+    private volatile ScheduledFuture<?> next;
+    private int failures;
+    private TaskStatus last;
+    // the first report of the current step, against which the rate of progress is measured
+    private long baselineAt;
+    private double baselineProgress = -1;
+
+    Polling(long startedAt) {
+      this.startedAt = startedAt;
+    }
+
+    /**
+     * @return the fraction of the task done per millisecond since the baseline, or 0 if unknown
+     */
+    double progressRate(TaskStatus status, long now) {
+      double progress = status.getProgress();
+      if (baselineProgress < 0 || progress < baselineProgress) {
+        // progress restarts with each step of a process
+        baselineAt = now;
+        baselineProgress = progress;
+        return 0;
+      }
+      long elapsed = now - baselineAt;
+      return elapsed > 0 ? (progress - baselineProgress) / elapsed : 0;
+    }
+  }
+}
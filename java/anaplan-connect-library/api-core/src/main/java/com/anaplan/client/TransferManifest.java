@@ -0,0 +1,77 @@
+package com.anaplan.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base for the sidecar files recording the progress of a resumable chunk transfer. A manifest is rewritten through a
+ * temporary file and an atomic rename, so a crash leaves either the previous or the new state on disk, never a torn
+ * one.
+ */
+abstract class TransferManifest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransferManifest.class);
+  static final String MANIFEST_SUFFIX = ".manifest";
+
+  @JsonIgnore
+  private File location;
+
+  File getLocation() {
+    return location;
+  }
+
+  void setLocation(File location) {
+    this.location = location;
+  }
+
+  /**
+   * Reads a manifest, ignoring one that is missing or unreadable since the transfer then simply starts over.
+   *
+   * @param location the manifest file
+   * @param type     the manifest type
+   * @return the manifest, or null if there is no usable manifest
+   */
+  static <T extends TransferManifest> T load(File location, Class<T> type) {
+    if (!location.isFile()) {
+      return null;
+    }
+    try {
+      T manifest = ObjectMapperProvider.getObjectMapper().readValue(location, type);
+      manifest.setLocation(location);
+      return manifest;
+    } catch (IOException e) {
+      LOG.warn("Warning: ignoring unreadable transfer manifest {}: {}", location, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Persists the manifest.
+   */
+  void save() throws IOException {
+    Path target = location.toPath();
+    Path temp = new File(location.getParentFile(), location.getName() + ".tmp").toPath();
+    ObjectMapperProvider.getObjectMapper().writeValue(temp.toFile(), this);
+    try {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Removes the manifest once the transfer has completed.
+   */
+  void delete() {
+    if (location.exists() && !location.delete()) {
+      LOG.warn("Warning: failed to delete transfer manifest {}", location);
+    }
+  }
+}
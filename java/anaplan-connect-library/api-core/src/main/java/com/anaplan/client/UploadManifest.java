@@ -0,0 +1,90 @@
+package com.anaplan.client;
+
+import com.anaplan.client.dto.ChunkData;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Records the progress of a chunked upload: the end offset of every chunk cut by the separator scan so far, and the
+ * chunks the server has accepted. Chunks may be accepted out of order when they are sent in parallel, so a resumed
+ * upload skips every accepted chunk rather than just a prefix.
+ */
+class UploadManifest extends TransferManifest {
+
+  private String fileId;
+  private long sourceLength;
+  private long sourceLastModified;
+  private int chunkSize;
+  private List<String> chunkIds;
+  private List<Long> boundaries = new ArrayList<>();
+  private Set<String> sent = new HashSet<>();
+
+  static File locate(File source) {
+    return new File(source.getAbsoluteFile().getParentFile(), "." + source.getName() + ".upload" + MANIFEST_SUFFIX);
+  }
+
+  static UploadManifest start(File location, String fileId, File source, int chunkSize, List<ChunkData> chunkList) {
+    UploadManifest manifest = new UploadManifest();
+    manifest.setLocation(location);
+    manifest.fileId = fileId;
+    manifest.sourceLength = source.length();
+    manifest.sourceLastModified = source.lastModified();
+    manifest.chunkSize = chunkSize;
+    manifest.chunkIds = chunkIds(chunkList);
+    return manifest;
+  }
+
+  /**
+   * Checks that the manifest was written for the same server file, an unmodified source and the same chunk size.
+   */
+  boolean matches(String fileId, File source, int chunkSize) {
+    return this.fileId != null && this.fileId.equals(fileId)
+        && sourceLength == source.length()
+        && sourceLastModified == source.lastModified()
+        && this.chunkSize == chunkSize
+        && boundaries != null && sent != null;
+  }
+
+  /**
+   * Checks that the server still expects the chunks this manifest was written for.
+   */
+  boolean matchesChunks(List<ChunkData> chunkList) {
+    return chunkIds != null && chunkIds.equals(chunkIds(chunkList));
+  }
+
+  /**
+   * @return the end offset in the source of the chunk at the index, or -1 if it has not been computed yet
+   */
+  synchronized long getBoundary(int index) {
+    return index < boundaries.size() ? boundaries.get(index) : -1;
+  }
+
+  synchronized boolean isSent(String chunkId) {
+    return sent.contains(chunkId);
+  }
+
+  synchronized int getSentCount() {
+    return sent.size();
+  }
+
+  synchronized void recordBoundary(int index, long end) throws IOException {
+    if (index == boundaries.size()) {
+      boundaries.add(end);
+      save();
+    }
+  }
+
+  synchronized void markSent(String chunkId) throws IOException {
+    sent.add(chunkId);
+    save();
+  }
+
+  private static List<String> chunkIds(List<ChunkData> chunkList) {
+    return chunkList.stream().map(ChunkData::getId).collect(Collectors.toList());
+  }
+}
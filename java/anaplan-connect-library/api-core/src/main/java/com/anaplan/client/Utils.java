@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ThreadFactory;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.crypto.SecretKey;
@@ -485,4 +486,19 @@ public class Utils {
     }
     return retryDate;
   }
+
+  /**
+   * Creates a thread factory for the daemon worker threads used by parallel chunk transfers, so that an unfinished
+   * transfer never keeps the JVM alive.
+   *
+   * @param name the thread name
+   * @return the thread factory
+   */
+  public static ThreadFactory daemonThreadFactory(final String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
 }
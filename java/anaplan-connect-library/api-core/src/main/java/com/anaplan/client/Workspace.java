@@ -42,6 +42,10 @@ public class Workspace extends AnaplanApiClientObject {
     this.data = data;
   }
 
+  final WorkspaceData getData() {
+    return data;
+  }
+
   /**
    * Get the identifier of the workspace.
    *
@@ -112,6 +116,18 @@ public class Workspace extends AnaplanApiClientObject {
     }
   }
 
+  /**
+   * Finds a model by id or name in the cached listing of the models of the workspace.
+   *
+   * @param modelIdOrName The GUID or name of the model
+   * @return The model, or null if no such model exists in the workspace
+   */
+  public Model findModel(String modelIdOrName) {
+    return getService().getMetadataCatalog().find(Model.class, MetadataCatalog.scope(getId()), modelIdOrName,
+        this::getModels, m -> new String[]{m.getId(), null, m.getName()},
+        new MetadataCatalog.Codec<>(ModelData.class, Model::getData, data -> new Model(this, data)));
+  }
+
   /**
    * Retrieve a specific model by identifier.
    *
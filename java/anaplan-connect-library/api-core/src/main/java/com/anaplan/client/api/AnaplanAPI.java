@@ -33,6 +33,7 @@ import com.anaplan.client.dto.responses.ViewMetadataResponse;
 import com.anaplan.client.dto.responses.ViewsResponse;
 import com.anaplan.client.dto.responses.WorkspaceResponse;
 import com.anaplan.client.dto.responses.WorkspacesResponse;
+import java.io.InputStream;
 
 /**
  * Created by Spondon Saha Date: 4/17/18 Time: 3:21 PM
@@ -156,6 +157,20 @@ public interface AnaplanAPI {
       String fileId,
       String chunkId);
 
+  /**
+   * Get file chunk content as the unread response stream, which the caller must close
+   * @param workspaceId the workspace id
+   * @param modelId the model id
+   * @param fileId the file id
+   * @param chunkId the chunks id
+   * @return {@link InputStream}
+   */
+  InputStream getChunkContentStream(
+      String workspaceId,
+      String modelId,
+      String fileId,
+      String chunkId);
+
 
   /**
    *
@@ -201,6 +216,21 @@ public interface AnaplanAPI {
       String chunkId,
       byte[] fileData);
 
+  /**
+   * Upload a chunk in file that the caller has already gzip encoded, so that it is sent as is
+   * @param workspaceId the workspace id
+   * @param modelId the model id
+   * @param fileId the file id
+   * @param chunkId the chunk id
+   * @param fileData the gzip encoded {@link byte[]}
+   */
+  void uploadChunkPrecompressed(
+      String workspaceId,
+      String modelId,
+      String fileId,
+      String chunkId,
+      byte[] fileData);
+
   /**
    *
    * @param workspaceId the workspace id
@@ -20,4 +20,18 @@ public interface Authenticator {
   byte[] authenticate();
 
   void setAuthToken(byte[] authToken);
+
+  /**
+   * Replaces a token the server has rejected. When several requests are rejected together, only the first
+   * authenticates; the others find the token already replaced and return without another round trip.
+   *
+   * @param rejectedToken the token sent with the rejected request, or null if unknown
+   */
+  default void reauthenticate(String rejectedToken) {
+    synchronized (this) {
+      if (rejectedToken == null || rejectedToken.equals(authToken())) {
+        setAuthToken(authenticate());
+      }
+    }
+  }
 }
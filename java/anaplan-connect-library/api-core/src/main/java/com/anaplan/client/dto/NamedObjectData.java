@@ -1,5 +1,7 @@
 package com.anaplan.client.dto;
 
+import com.anaplan.client.ObjectMapperProvider;
+
 /**
  * Created by Spondon Saha User: spondonsaha Date: 6/21/17 Time: 3:25 PM
  */
@@ -33,12 +35,17 @@ public class NamedObjectData extends TaskParametersData {
     this.code = code;
   }
 
+  /**
+   * Returns a copy of this data with the task parameters given overriding its own. The listed data is left as it is, as
+   * the object it belongs to may be cached and run again with other parameters.
+   */
   public <T extends NamedObjectData> T merge(TaskParametersData data, Class<T> dataClass) {
-    this.setLocaleName((data.getLocaleName() != null) ? data.getLocaleName() : this.getLocaleName());
-    this.setConnectorParameters(
+    T merged = ObjectMapperProvider.getObjectMapper().convertValue(this, dataClass);
+    merged.setLocaleName((data.getLocaleName() != null) ? data.getLocaleName() : this.getLocaleName());
+    merged.setConnectorParameters(
         (data.getConnectorParameters() != null) ? data.getConnectorParameters() : this.getConnectorParameters());
-    this.setMappingParameters(
+    merged.setMappingParameters(
         (data.getMappingParameters() != null) ? data.getMappingParameters() : this.getMappingParameters());
-    return dataClass.cast(this);
+    return merged;
   }
 }
@@ -0,0 +1,12 @@
+package com.anaplan.client.exceptions;
+
+/**
+ * Thrown without contacting the server while the circuit breaker of an endpoint group is open after repeated failures.
+ */
+public class CircuitOpenException extends AnaplanAPIException {
+
+  public CircuitOpenException(String endpointGroup, long retryInMillis) {
+    super("Anaplan API calls to " + endpointGroup + " are failing fast after repeated errors; next attempt allowed in "
+        + Math.max(1, (retryInMillis + 999) / 1000) + "s");
+  }
+}
@@ -0,0 +1,132 @@
+package com.anaplan.client.transport;
+
+import com.anaplan.client.exceptions.AnaplanInterruptedException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the requests of every thread sharing one API client, learning the rate the server accepts from its HTTP 429
+ * responses (additive increase, multiplicative decrease).
+ * <p>
+ * Requests are unpaced until the first 429, unless a fixed ceiling is configured. A 429 halves the rate, starting from
+ * the rate actually observed when no rate has been learned yet, and holds every request back until its
+ * <code>Retry-After</code> date. The rate then climbs back linearly with the time that passes without another 429.
+ * Requests are spaced evenly at the current rate, so parallel workers do not release a fresh burst together.
+ */
+public class AdaptiveRateLimiter {
+
+  static final double MIN_RATE = 0.5;
+  static final double DECREASE_FACTOR = 0.5;
+  static final double INCREASE_PER_SECOND = 1.0;
+  private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAX_BLOCK_NANOS = TimeUnit.MINUTES.toNanos(2);
+  private static final long OBSERVATION_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final double maxRate;
+  private double rate;
+  private long nextFreeNanos;
+  private long blockedUntilNanos;
+  private long lastAdjustNanos;
+  private long lastDecreaseNanos;
+  private long windowStartNanos;
+  private int windowCount;
+  private double observedRate;
+
+  /**
+   * An unpaced limiter, until the server first asks the client to slow down.
+   */
+  public AdaptiveRateLimiter() {
+    this(null);
+  }
+
+  /**
+   * @param maxRequestsPerSecond the ceiling on the request rate, or null for none
+   */
+  public AdaptiveRateLimiter(Integer maxRequestsPerSecond) {
+    this.maxRate = maxRequestsPerSecond == null ? Double.POSITIVE_INFINITY : Math.max(MIN_RATE, maxRequestsPerSecond);
+    this.rate = maxRate;
+    long now = System.nanoTime();
+    this.nextFreeNanos = now;
+    this.blockedUntilNanos = now;
+    this.lastAdjustNanos = now;
+    this.lastDecreaseNanos = now - DECREASE_COOLDOWN_NANOS;
+    this.windowStartNanos = now;
+  }
+
+  /**
+   * @return the current rate in requests per second, infinite while unpaced
+   */
+  public synchronized double getRate() {
+    return rate;
+  }
+
+  /**
+   * Waits for the turn of the calling thread to send a request.
+   */
+  public void acquire() {
+    long wait;
+    synchronized (this) {
+      long now = System.nanoTime();
+      observe(now);
+      increase(now);
+      long start = Math.max(now, Math.max(nextFreeNanos, blockedUntilNanos));
+      if (!Double.isInfinite(rate)) {
+        nextFreeNanos = start + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+      }
+      wait = start - now;
+    }
+    if (wait > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AnaplanInterruptedException("Interrupted while waiting to send a request", e);
+      }
+    }
+  }
+
+  /**
+   * Records an HTTP 429 from the server. Responses to a burst of requests sent at the old rate often arrive together, so
+   * the rate is cut at most once a second.
+   *
+   * @param retryAfter the date in the <code>Retry-After</code> header, or null if there was none
+   */
+  public synchronized void onThrottled(Date retryAfter) {
+    long now = System.nanoTime();
+    if (now - lastDecreaseNanos >= DECREASE_COOLDOWN_NANOS) {
+      double current = Double.isInfinite(rate) ? Math.max(observedRate, windowRate(now)) : rate;
+      rate = Math.max(MIN_RATE, current * DECREASE_FACTOR);
+      lastDecreaseNanos = now;
+    }
+    lastAdjustNanos = now;
+    if (retryAfter != null) {
+      long delayNanos = TimeUnit.MILLISECONDS.toNanos(retryAfter.getTime() - System.currentTimeMillis());
+      if (delayNanos > 0) {
+        blockedUntilNanos = Math.max(blockedUntilNanos, now + Math.min(delayNanos, MAX_BLOCK_NANOS));
+      }
+    }
+  }
+
+  private void increase(long now) {
+    if (Double.isInfinite(rate) || rate >= maxRate) {
+      return;
+    }
+    double seconds = (now - lastAdjustNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    rate = Math.min(maxRate, rate + INCREASE_PER_SECOND * seconds);
+    lastAdjustNanos = now;
+  }
+
+  private void observe(long now) {
+    windowCount++;
+    if (now - windowStartNanos >= OBSERVATION_WINDOW_NANOS) {
+      observedRate = windowRate(now);
+      windowStartNanos = now;
+      windowCount = 0;
+    }
+  }
+
+  private double windowRate(long now) {
+    long elapsed = Math.max(now - windowStartNanos, OBSERVATION_WINDOW_NANOS);
+    return windowCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+}
@@ -0,0 +1,232 @@
+package com.anaplan.client.transport;
+
+import com.anaplan.client.ExecutorProvider;
+import com.anaplan.client.exceptions.AnaplanInterruptedException;
+import com.anaplan.client.exceptions.BadFileChunkCompressionError;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip encoding of file-chunk bodies. Shared by the PUT request interceptor and by the upload pipeline, which
+ * compresses chunks ahead of the send and marks them as precompressed so that the interceptor passes them through.
+ * <p>
+ * The compression level runs from {@link Deflater#NO_COMPRESSION}, which only stores the content in gzip framing, to
+ * {@link Deflater#BEST_COMPRESSION}. With a parallelism above one, a large chunk is split into blocks that are
+ * compressed on separate cores as independent gzip members and concatenated, the way pigz does; RFC 1952 readers,
+ * including {@link GZIPInputStream}, decode such a stream as the content of all the members in order. The blocks run
+ * on a pool from the {@link ExecutorProvider} of the owner, created on first use and stopped by {@link #close()}.
+ */
+public class ChunkCompressor implements AutoCloseable {
+
+  /**
+   * The default level and a single thread, matching a plain {@link GZIPOutputStream}.
+   */
+  public static final ChunkCompressor DEFAULT = new ChunkCompressor(Deflater.DEFAULT_COMPRESSION, 1);
+
+  /**
+   * Blocks smaller than this are not worth a task of their own and cost ratio at every member boundary.
+   */
+  static final int MIN_PARALLEL_BLOCK_SIZE = 1024 * 1024;
+
+  private static final int BLOCK_SIZE = 64 * 1024;
+  private static final int GZIP_OVERHEAD = 64;
+  private static final ThreadLocal<byte[]> BLOCK = ThreadLocal.withInitial(() -> new byte[BLOCK_SIZE]);
+
+  private final int level;
+  private final int parallelism;
+  private final ExecutorProvider executors;
+  private volatile ExecutorService blockCompressors;
+  private boolean closed;
+
+  /**
+   * @param level       the deflate level, from 0 (store only) to 9, or -1 for the default
+   * @param parallelism the number of blocks a large chunk is split into and compressed in parallel
+   */
+  public ChunkCompressor(int level, int parallelism) {
+    this(level, parallelism, ExecutorProvider.PLATFORM);
+  }
+
+  /**
+   * @param level       the deflate level, from 0 (store only) to 9, or -1 for the default
+   * @param parallelism the number of blocks a large chunk is split into and compressed in parallel
+   * @param executors   provides the threads the blocks are compressed on
+   */
+  public ChunkCompressor(int level, int parallelism, ExecutorProvider executors) {
+    if (level != Deflater.DEFAULT_COMPRESSION
+        && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+      throw new IllegalArgumentException("Compression level can only be within the range ["
+          + Deflater.NO_COMPRESSION + ", " + Deflater.BEST_COMPRESSION + "]");
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Compression parallelism must be at least 1");
+    }
+    this.level = level;
+    this.parallelism = parallelism;
+    this.executors = executors;
+  }
+
+  /**
+   * Builds the compressor configured by the connection properties, falling back to the defaults for unset values.
+   *
+   * @param properties the connection properties
+   * @param executors  provides the threads the blocks of a large chunk are compressed on
+   * @return the chunk compressor, which the caller must close
+   */
+  public static ChunkCompressor from(ConnectionProperties properties, ExecutorProvider executors) {
+    Integer level = properties.getCompressionLevel();
+    Integer threads = properties.getCompressionThreads();
+    if (level == null && threads == null) {
+      return DEFAULT;
+    }
+    return new ChunkCompressor(level == null ? Deflater.DEFAULT_COMPRESSION : level, threads == null ? 1 : threads,
+        executors);
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Gzips the chunk content.
+   *
+   * @param source the chunk content
+   * @return the gzip encoded content
+   */
+  public byte[] compress(byte[] source) {
+    return compress(ByteBuffer.wrap(source));
+  }
+
+  /**
+   * Gzips the remaining content of the buffer. A mapped chunk is fed to the compressor through a small per-thread block
+   * so it is never copied onto the heap whole.
+   *
+   * @param source the chunk content, which is left unchanged
+   * @return the gzip encoded content
+   */
+  public byte[] compress(ByteBuffer source) {
+    ByteBuffer content = source.duplicate();
+    int blocks = Math.min(parallelism, content.remaining() / MIN_PARALLEL_BLOCK_SIZE);
+    if (blocks < 2) {
+      return compressMember(content);
+    }
+    return compressBlocks(content, blocks);
+  }
+
+  private byte[] compressBlocks(ByteBuffer content, int blocks) {
+    int blockSize = (content.remaining() + blocks - 1) / blocks;
+    List<Future<byte[]>> members = new ArrayList<>(blocks);
+    for (int start = content.position(); start < content.limit(); start += blockSize) {
+      final ByteBuffer block = content.duplicate();
+      block.position(start);
+      block.limit(Math.min(content.limit(), start + blockSize));
+      members.add(blockCompressors().submit(() -> compressMember(block)));
+    }
+    List<byte[]> encoded = new ArrayList<>(members.size());
+    int total = 0;
+    try {
+      for (Future<byte[]> member : members) {
+        byte[] bytes = member.get();
+        encoded.add(bytes);
+        total += bytes.length;
+      }
+    } catch (InterruptedException e) {
+      members.forEach(member -> member.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new AnaplanInterruptedException("Interrupted while compressing chunk", e);
+    } catch (ExecutionException e) {
+      members.forEach(member -> member.cancel(true));
+      throw new BadFileChunkCompressionError(e.getCause());
+    }
+    byte[] result = new byte[total];
+    int offset = 0;
+    for (byte[] bytes : encoded) {
+      System.arraycopy(bytes, 0, result, offset, bytes.length);
+      offset += bytes.length;
+    }
+    return result;
+  }
+
+  /**
+   * Compresses the remaining content of the buffer as a single gzip member, into an output buffer sized up front for
+   * the expected result.
+   */
+  private byte[] compressMember(ByteBuffer content) {
+    ByteArrayOutputStream sink = new ByteArrayOutputStream(estimateSize(content.remaining()));
+    try (GZIPOutputStream gzos = new LevelledGZIPOutputStream(sink, level)) {
+      if (content.hasArray()) {
+        gzos.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+      } else {
+        byte[] block = BLOCK.get();
+        while (content.hasRemaining()) {
+          int count = Math.min(block.length, content.remaining());
+          content.get(block, 0, count);
+          gzos.write(block, 0, count);
+        }
+      }
+    } catch (IOException e) {
+      throw new BadFileChunkCompressionError(e);
+    }
+    return sink.toByteArray();
+  }
+
+  /**
+   * Stored content grows by a few bytes per deflate block; compressed delimited text typically shrinks to well under a
+   * quarter, and the buffer still grows if it does not.
+   */
+  private int estimateSize(int length) {
+    long estimate = level == Deflater.NO_COMPRESSION
+        ? length + (long) length / 1000 + GZIP_OVERHEAD
+        : length / 4 + GZIP_OVERHEAD;
+    return (int) Math.min(Integer.MAX_VALUE - 8, estimate);
+  }
+
+  private ExecutorService blockCompressors() {
+    ExecutorService pool = blockCompressors;
+    if (pool == null) {
+      synchronized (this) {
+        if (closed) {
+          throw new IllegalStateException("Chunk compressor is closed");
+        }
+        pool = blockCompressors;
+        if (pool == null) {
+          pool = executors.newComputeExecutor("anaplan-gzip", parallelism);
+          blockCompressors = pool;
+        }
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * Stops the threads the blocks of large chunks are compressed on. The compressor must not be used afterwards.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (blockCompressors != null) {
+      blockCompressors.shutdown();
+      blockCompressors = null;
+    }
+  }
+
+  private static class LevelledGZIPOutputStream extends GZIPOutputStream {
+
+    LevelledGZIPOutputStream(ByteArrayOutputStream sink, int level) throws IOException {
+      super(sink, BLOCK_SIZE);
+      def.setLevel(level);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.anaplan.client.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A circuit breaker for one group of endpoints. While closed, calls go through and consecutive failures are counted;
+ * once they reach the threshold the circuit opens and calls are refused without reaching the server. After the open
+ * duration a single trial call is let through (half-open): its success closes the circuit again, its failure reopens it
+ * for another full duration.
+ */
+public class CircuitBreaker {
+
+  /**
+   * The states of the breaker
+   */
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAtNanos;
+  private boolean trialInFlight;
+
+  /**
+   * @param failureThreshold the consecutive failures that open the circuit
+   * @param openSeconds      how long the circuit stays open before a trial call
+   */
+  public CircuitBreaker(int failureThreshold, int openSeconds) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * Asks to make a call.
+   *
+   * @return 0 if the call may go ahead, otherwise the milliseconds until the next trial call
+   */
+  public synchronized long tryAcquire() {
+    if (state == State.CLOSED) {
+      return 0;
+    }
+    long remaining = openedAtNanos + openNanos - System.nanoTime();
+    if (state == State.OPEN && remaining <= 0) {
+      state = State.HALF_OPEN;
+      trialInFlight = false;
+    }
+    if (state == State.HALF_OPEN && !trialInFlight) {
+      trialInFlight = true;
+      return 0;
+    }
+    return Math.max(1, TimeUnit.NANOSECONDS.toMillis(Math.max(remaining, 0)));
+  }
+
+  /**
+   * Records a call that reached the server and got a usable answer.
+   */
+  public synchronized void onSuccess() {
+    state = State.CLOSED;
+    consecutiveFailures = 0;
+    trialInFlight = false;
+  }
+
+  /**
+   * Records a call that failed on the network or with a server error.
+   */
+  public synchronized void onFailure() {
+    if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAtNanos = System.nanoTime();
+      trialInFlight = false;
+    }
+  }
+}
@@ -18,6 +18,19 @@ public class ConnectionProperties {
   private Integer retryTimeout;
   private Integer maxRetryCount;
   private Integer httpTimeout;
+  private Integer compressionLevel;
+  private Integer compressionThreads;
+  private Integer maxIdleConnections;
+  private Integer keepAliveDuration;
+  private boolean http2 = true;
+  private boolean virtualThreads;
+  private boolean authTokenCache;
+  private Integer metadataCacheTtl;
+  private String metadataSnapshot;
+  private Integer maxRequestsPerSecond;
+  private Integer retryBudget;
+  private Integer circuitFailureThreshold;
+  private Integer circuitOpenDuration;
   private String clientId;
   private String refreshType = DeviceTypeToken.NON_ROTATABLE.name();
   private boolean forceRegister;
@@ -127,4 +140,108 @@ public class ConnectionProperties {
   public void setHttpTimeout(Integer httpTimeout) {
     this.httpTimeout = httpTimeout;
   }
+
+  public Integer getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  public void setCompressionLevel(Integer compressionLevel) {
+    this.compressionLevel = compressionLevel;
+  }
+
+  public Integer getCompressionThreads() {
+    return compressionThreads;
+  }
+
+  public void setCompressionThreads(Integer compressionThreads) {
+    this.compressionThreads = compressionThreads;
+  }
+
+  public Integer getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  public void setMaxIdleConnections(Integer maxIdleConnections) {
+    this.maxIdleConnections = maxIdleConnections;
+  }
+
+  public Integer getKeepAliveDuration() {
+    return keepAliveDuration;
+  }
+
+  public void setKeepAliveDuration(Integer keepAliveDuration) {
+    this.keepAliveDuration = keepAliveDuration;
+  }
+
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  public void setHttp2(boolean http2) {
+    this.http2 = http2;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public boolean isAuthTokenCache() {
+    return authTokenCache;
+  }
+
+  public void setAuthTokenCache(boolean authTokenCache) {
+    this.authTokenCache = authTokenCache;
+  }
+
+  public Integer getMetadataCacheTtl() {
+    return metadataCacheTtl;
+  }
+
+  public void setMetadataCacheTtl(Integer metadataCacheTtl) {
+    this.metadataCacheTtl = metadataCacheTtl;
+  }
+
+  public String getMetadataSnapshot() {
+    return metadataSnapshot;
+  }
+
+  public void setMetadataSnapshot(String metadataSnapshot) {
+    this.metadataSnapshot = metadataSnapshot;
+  }
+
+  public Integer getMaxRequestsPerSecond() {
+    return maxRequestsPerSecond;
+  }
+
+  public void setMaxRequestsPerSecond(Integer maxRequestsPerSecond) {
+    this.maxRequestsPerSecond = maxRequestsPerSecond;
+  }
+
+  public Integer getRetryBudget() {
+    return retryBudget;
+  }
+
+  public void setRetryBudget(Integer retryBudget) {
+    this.retryBudget = retryBudget;
+  }
+
+  public Integer getCircuitFailureThreshold() {
+    return circuitFailureThreshold;
+  }
+
+  public void setCircuitFailureThreshold(Integer circuitFailureThreshold) {
+    this.circuitFailureThreshold = circuitFailureThreshold;
+  }
+
+  public Integer getCircuitOpenDuration() {
+    return circuitOpenDuration;
+  }
+
+  public void setCircuitOpenDuration(Integer circuitOpenDuration) {
+    this.circuitOpenDuration = circuitOpenDuration;
+  }
 }
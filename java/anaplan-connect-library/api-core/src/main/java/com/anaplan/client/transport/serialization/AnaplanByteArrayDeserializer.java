@@ -21,4 +21,16 @@ public class AnaplanByteArrayDeserializer {
     return StreamUtils.inputStreamToByteArray(inputStream);
   }
 
+  /**
+   * Deserializes to raw bytes, reading straight into an array of the announced size when the content length is known.
+   *
+   * @param inputStream   stream to be deserialized
+   * @param contentLength the length of the content, or null if unknown
+   * @return byte[]
+   * @throws IOException if there's an error while reading the input stream
+   */
+  public byte[] deserialize(InputStream inputStream, Integer contentLength) throws IOException {
+    return StreamUtils.inputStreamToByteArray(inputStream, contentLength == null ? -1 : contentLength);
+  }
+
 }
@@ -0,0 +1,198 @@
+package com.anaplan.client.workflow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A workflow of uploads, imports, processes, actions, exports and downloads, across any number of models, with the
+ * order between them given by the steps each depends on. Steps that do not depend on each other may run at the same
+ * time, up to the concurrency of the workflow.
+ * <p>
+ * A workflow is read from JSON, or from YAML with a YAML object mapper, for example:
+ * <pre>
+ * name: month-end
+ * workspace: Finance
+ * model: Close
+ * concurrency: 4
+ * steps:
+ *   - id: upload-actuals
+ *     type: upload
+ *     file: /data/actuals.csv
+ *   - id: import-actuals
+ *     type: import
+ *     name: Actuals from actuals.csv
+ *     dependsOn: [upload-actuals]
+ *     retries: 2
+ *   - id: consolidate
+ *     type: process
+ *     model: Consolidation
+ *     name: Consolidate
+ *     dependsOn: [import-actuals]
+ * </pre>
+ */
+public class WorkflowDefinition {
+
+  private String name;
+  private String workspace;
+  private String model;
+  private int concurrency = 4;
+  private List<WorkflowStep> steps = new ArrayList<>();
+
+  /**
+   * Reads a workflow and checks it is well formed.
+   *
+   * @param source the workflow document
+   * @param mapper reads the format of the document, JSON or YAML
+   * @return the workflow
+   * @throws IllegalArgumentException the workflow is not well formed
+   */
+  public static WorkflowDefinition read(InputStream source, ObjectMapper mapper) throws IOException {
+    WorkflowDefinition definition = mapper.readValue(source, WorkflowDefinition.class);
+    definition.validate();
+    return definition;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the workspace of the steps that name none
+   */
+  public String getWorkspace() {
+    return workspace;
+  }
+
+  public void setWorkspace(String workspace) {
+    this.workspace = workspace;
+  }
+
+  /**
+   * @return the model of the steps that name none
+   */
+  public String getModel() {
+    return model;
+  }
+
+  public void setModel(String model) {
+    this.model = model;
+  }
+
+  /**
+   * @return the most steps run at the same time
+   */
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  public List<WorkflowStep> getSteps() {
+    return steps;
+  }
+
+  public void setSteps(List<WorkflowStep> steps) {
+    this.steps = steps == null ? new ArrayList<>() : steps;
+  }
+
+  /**
+   * Checks that every step is complete, that step ids are unique, and that the dependencies name existing steps and do
+   * not form a cycle.
+   *
+   * @return the steps in an order in which each comes after the steps it depends on
+   * @throws IllegalArgumentException the workflow is not well formed
+   */
+  public List<WorkflowStep> validate() {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("The concurrency of a workflow must be at least 1");
+    }
+    Map<String, WorkflowStep> byId = new LinkedHashMap<>();
+    for (WorkflowStep step : steps) {
+      validate(step);
+      if (byId.put(step.getId(), step) != null) {
+        throw new IllegalArgumentException("Workflow step id \"" + step.getId() + "\" is used more than once");
+      }
+    }
+    Map<String, Integer> waitingOn = new HashMap<>();
+    Map<String, List<WorkflowStep>> dependents = new HashMap<>();
+    Deque<WorkflowStep> ready = new ArrayDeque<>();
+    for (WorkflowStep step : steps) {
+      for (String upstream : step.getDependsOn()) {
+        if (!byId.containsKey(upstream)) {
+          throw new IllegalArgumentException(
+              "Workflow step \"" + step.getId() + "\" depends on unknown step \"" + upstream + "\"");
+        }
+        dependents.computeIfAbsent(upstream, id -> new ArrayList<>()).add(step);
+      }
+      waitingOn.put(step.getId(), step.getDependsOn().size());
+      if (step.getDependsOn().isEmpty()) {
+        ready.add(step);
+      }
+    }
+    List<WorkflowStep> ordered = new ArrayList<>();
+    while (!ready.isEmpty()) {
+      WorkflowStep step = ready.poll();
+      ordered.add(step);
+      for (WorkflowStep dependent : dependents.getOrDefault(step.getId(), new ArrayList<>())) {
+        if (waitingOn.merge(dependent.getId(), -1, Integer::sum) == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    if (ordered.size() < steps.size()) {
+      List<String> cyclic = new ArrayList<>();
+      waitingOn.forEach((id, count) -> {
+        if (count > 0) {
+          cyclic.add(id);
+        }
+      });
+      throw new IllegalArgumentException("Workflow steps " + cyclic + " depend on each other in a cycle");
+    }
+    return ordered;
+  }
+
+  private void validate(WorkflowStep step) {
+    if (step.getId() == null || step.getId().isEmpty()) {
+      throw new IllegalArgumentException("Every workflow step needs an id");
+    }
+    if (step.getType() == null) {
+      throw new IllegalArgumentException("Workflow step \"" + step.getId() + "\" needs a type");
+    }
+    if (firstNonNull(step.getWorkspace(), workspace) == null || firstNonNull(step.getModel(), model) == null) {
+      throw new IllegalArgumentException("Workflow step \"" + step.getId() + "\" needs a workspace and a model");
+    }
+    if (step.getRetries() < 0 || step.getRetryDelay() < 0) {
+      throw new IllegalArgumentException("Workflow step \"" + step.getId() + "\" has negative retries or delay");
+    }
+    switch (step.getType()) {
+      case UPLOAD:
+      case DOWNLOAD:
+        if (step.getFile() == null) {
+          throw new IllegalArgumentException("Workflow step \"" + step.getId() + "\" needs a file");
+        }
+        break;
+      default:
+        if (step.getName() == null) {
+          throw new IllegalArgumentException("Workflow step \"" + step.getId() + "\" needs a name");
+        }
+    }
+  }
+
+  static String firstNonNull(String value, String fallback) {
+    return value != null ? value : fallback;
+  }
+}
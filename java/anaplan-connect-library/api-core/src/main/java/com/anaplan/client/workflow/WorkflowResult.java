@@ -0,0 +1,104 @@
+package com.anaplan.client.workflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of each step of a workflow run.
+ */
+public class WorkflowResult {
+
+  /**
+   * How a step ended.
+   */
+  public enum State {
+    SUCCEEDED,
+    FAILED,
+    /**
+     * Not run, as a step it depends on failed or was skipped.
+     */
+    SKIPPED
+  }
+
+  private final Map<String, StepResult> steps = new LinkedHashMap<>();
+
+  WorkflowResult(List<WorkflowStep> ordered, Map<String, StepResult> outcomes) {
+    ordered.forEach(step -> steps.put(step.getId(), outcomes.get(step.getId())));
+  }
+
+  /**
+   * @return the outcome of each step by id, in an order in which each comes after the steps it depends on
+   */
+  public Map<String, StepResult> getSteps() {
+    return Collections.unmodifiableMap(steps);
+  }
+
+  /**
+   * @return true if every step succeeded
+   */
+  public boolean isSuccessful() {
+    return steps.values().stream().allMatch(result -> result.getState() == State.SUCCEEDED);
+  }
+
+  /**
+   * @return the ids of the steps that did not succeed
+   */
+  public List<String> getUnsuccessfulSteps() {
+    List<String> unsuccessful = new ArrayList<>();
+    steps.forEach((id, result) -> {
+      if (result.getState() != State.SUCCEEDED) {
+        unsuccessful.add(id);
+      }
+    });
+    return unsuccessful;
+  }
+
+  /**
+   * The outcome of one step.
+   */
+  public static final class StepResult {
+
+    private final State state;
+    private final int attempts;
+    private final long durationMillis;
+    private final String message;
+
+    StepResult(State state, int attempts, long durationMillis, String message) {
+      this.state = state;
+      this.attempts = attempts;
+      this.durationMillis = durationMillis;
+      this.message = message;
+    }
+
+    public State getState() {
+      return state;
+    }
+
+    /**
+     * @return how many times the step was tried, 0 if skipped
+     */
+    public int getAttempts() {
+      return attempts;
+    }
+
+    public long getDurationMillis() {
+      return durationMillis;
+    }
+
+    /**
+     * @return why the step failed or was skipped, null if it succeeded
+     */
+    public String getMessage() {
+      return message;
+    }
+
+    @Override
+    public String toString() {
+      return state + (attempts > 1 ? " after " + attempts + " attempts" : "")
+          + (message != null ? ": " + message : "");
+    }
+  }
+}
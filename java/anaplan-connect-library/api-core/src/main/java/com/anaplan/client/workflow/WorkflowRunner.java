@@ -0,0 +1,233 @@
+package com.anaplan.client.workflow;
+
+import com.anaplan.client.Constants;
+import com.anaplan.client.Model;
+import com.anaplan.client.ServerFile;
+import com.anaplan.client.Service;
+import com.anaplan.client.TaskFactory;
+import com.anaplan.client.TaskParameters;
+import com.anaplan.client.TaskResult;
+import com.anaplan.client.Utils;
+import com.anaplan.client.exceptions.AnaplanAPIException;
+import com.anaplan.client.workflow.WorkflowResult.State;
+import com.anaplan.client.workflow.WorkflowResult.StepResult;
+import java.io.File;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the steps of a {@link WorkflowDefinition}, each as soon as the steps it depends on are done, with at most the
+ * concurrency of the workflow running at a time.
+ * <p>
+ * A step that fails is tried again as many times as it allows. A step whose upstream step failed or was skipped is
+ * skipped in turn, unless it asks to run regardless; either way the independent branches of the workflow carry on.
+ */
+public class WorkflowRunner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WorkflowRunner.class);
+
+  private final Service service;
+  private int chunkSize = 1000 * 1000;
+  private int transferConcurrency = Constants.MIN_TRANSFER_CONCURRENCY;
+  private boolean resumeTransfers;
+
+  /**
+   * @param service the service the models of the workflow are found through
+   */
+  public WorkflowRunner(Service service) {
+    this.service = service;
+  }
+
+  /**
+   * @param chunkSize the chunk size of uploads, in bytes
+   */
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * @param transferConcurrency the chunks transferred at the same time by each upload or download
+   */
+  public void setTransferConcurrency(int transferConcurrency) {
+    this.transferConcurrency = transferConcurrency;
+  }
+
+  /**
+   * @param resumeTransfers whether uploads and downloads carry on from where an interrupted run left off
+   */
+  public void setResumeTransfers(boolean resumeTransfers) {
+    this.resumeTransfers = resumeTransfers;
+  }
+
+  /**
+   * Runs the workflow to the end.
+   *
+   * @param definition the workflow
+   * @return the outcome of each step
+   * @throws IllegalArgumentException the workflow is not well formed
+   * @throws InterruptedException     the run was interrupted; steps already running carry on on the server
+   */
+  public WorkflowResult run(WorkflowDefinition definition) throws InterruptedException {
+    List<WorkflowStep> ordered = definition.validate();
+    LOG.info("Running workflow {} of {} steps, {} at a time",
+        WorkflowDefinition.firstNonNull(definition.getName(), ""), ordered.size(), definition.getConcurrency());
+    Semaphore permits = new Semaphore(definition.getConcurrency());
+    ExecutorService executor = service.getExecutorProvider()
+        .newBlockingExecutor("anaplan-workflow", definition.getConcurrency());
+    Map<String, CompletableFuture<StepResult>> outcomes = new ConcurrentHashMap<>();
+    try {
+      for (WorkflowStep step : ordered) {
+        CompletableFuture<?>[] upstream = step.getDependsOn().stream()
+            .map(outcomes::get)
+            .toArray(size -> new CompletableFuture<?>[size]);
+        outcomes.put(step.getId(), CompletableFuture.allOf(upstream).thenApplyAsync(
+            ignored -> start(definition, step, outcomes, permits), executor));
+      }
+      CompletableFuture.allOf(outcomes.values().toArray(new CompletableFuture<?>[0])).get();
+    } catch (ExecutionException e) {
+      throw new AnaplanAPIException("Workflow run failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    Map<String, StepResult> results = new ConcurrentHashMap<>();
+    outcomes.forEach((id, outcome) -> results.put(id, outcome.join()));
+    WorkflowResult result = new WorkflowResult(ordered, results);
+    result.getSteps().forEach((id, stepResult) -> LOG.info("Workflow step {}: {}", id, stepResult));
+    return result;
+  }
+
+  /**
+   * Runs one step of a workflow. The step is tried again by the caller if this throws or returns false.
+   *
+   * @param definition the workflow, for the default workspace and model
+   * @param step       the step
+   * @return true if the step succeeded, false if it ran but reports failure
+   */
+  protected boolean runStep(WorkflowDefinition definition, WorkflowStep step) throws Exception {
+    Model model = service.getModel(WorkflowDefinition.firstNonNull(step.getWorkspace(), definition.getWorkspace()),
+        WorkflowDefinition.firstNonNull(step.getModel(), definition.getModel()));
+    if (model == null) {
+      throw new AnaplanAPIException("Model of workflow step " + step.getId() + " not found");
+    }
+    switch (step.getType()) {
+      case UPLOAD:
+        upload(model, step);
+        return true;
+      case DOWNLOAD:
+        download(model, step);
+        return true;
+      default:
+        TaskResult result = taskFactory(model, step).createTask(new TaskParameters()).runTask();
+        return result != null && result.isSuccessful();
+    }
+  }
+
+  private StepResult start(WorkflowDefinition definition, WorkflowStep step,
+      Map<String, CompletableFuture<StepResult>> outcomes, Semaphore permits) {
+    for (String upstream : step.getDependsOn()) {
+      StepResult upstreamResult = outcomes.get(upstream).join();
+      if (upstreamResult.getState() != State.SUCCEEDED && step.isSkipOnUpstreamFailure()) {
+        String message = "upstream step " + upstream + " "
+            + upstreamResult.getState().name().toLowerCase(Locale.ROOT);
+        LOG.warn("Skipping workflow step {}: {}", step, message);
+        return new StepResult(State.SKIPPED, 0, 0, message);
+      }
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    }
+    try {
+      return attempt(definition, step);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private StepResult attempt(WorkflowDefinition definition, WorkflowStep step) {
+    long started = System.currentTimeMillis();
+    String message = null;
+    int attempts = 0;
+    while (attempts <= step.getRetries()) {
+      if (attempts++ > 0) {
+        LOG.info("Retrying workflow step {} in {}s, attempt {} of {}", step, step.getRetryDelay(), attempts,
+            step.getRetries() + 1);
+        try {
+          TimeUnit.SECONDS.sleep(step.getRetryDelay());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new CompletionException(e);
+        }
+      }
+      LOG.info("Starting workflow step {}", step);
+      try {
+        if (runStep(definition, step)) {
+          return new StepResult(State.SUCCEEDED, attempts, System.currentTimeMillis() - started, null);
+        }
+        message = "the operation failed";
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(e);
+      } catch (Exception e) {
+        message = Utils.formatThrowable(e);
+        LOG.debug("Workflow step {} failed", step, e);
+      }
+      LOG.warn("Workflow step {} failed: {}", step, message);
+    }
+    return new StepResult(State.FAILED, attempts, System.currentTimeMillis() - started, message);
+  }
+
+  private TaskFactory taskFactory(Model model, WorkflowStep step) {
+    TaskFactory factory;
+    switch (step.getType()) {
+      case IMPORT:
+        factory = model.getImport(step.getName());
+        break;
+      case PROCESS:
+        factory = model.getProcess(step.getName());
+        break;
+      case ACTION:
+        factory = model.getAction(step.getName());
+        break;
+      default:
+        factory = model.getExport(step.getName());
+    }
+    if (factory == null) {
+      throw new AnaplanAPIException(step.getType().name().toLowerCase(Locale.ROOT) + " \"" + step.getName()
+          + "\" of workflow step " + step.getId() + " not found");
+    }
+    return factory;
+  }
+
+  private void upload(Model model, WorkflowStep step) throws Exception {
+    String name = step.serverFileName();
+    ServerFile serverFile = model.getServerFile(name);
+    if (serverFile == null) {
+      serverFile = model.createServerFileImportDataSource(name, "Anaplan Connect");
+    }
+    serverFile.upLoad(new File(step.getFile()), true, chunkSize, transferConcurrency, resumeTransfers);
+    LOG.info("The file \"{}\" has been uploaded as {}.", step.getFile(), name);
+  }
+
+  private void download(Model model, WorkflowStep step) throws Exception {
+    String name = step.serverFileName();
+    ServerFile serverFile = model.getServerFile(name);
+    if (serverFile == null) {
+      throw new AnaplanAPIException("Server file \"" + name + "\" of workflow step " + step.getId() + " not found");
+    }
+    serverFile.downLoad(new File(step.getFile()), true, transferConcurrency, resumeTransfers);
+    LOG.info("The server file {} has been downloaded to {}", name, step.getFile());
+  }
+}
@@ -0,0 +1,179 @@
+package com.anaplan.client.workflow;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One step of a {@link WorkflowDefinition}: a transfer or a task in one model, run once the steps it depends on are
+ * done.
+ */
+public class WorkflowStep {
+
+  /**
+   * What a step does.
+   */
+  public enum Type {
+    /**
+     * Uploads a local file to a server file, creating it if needed.
+     */
+    UPLOAD,
+    IMPORT,
+    PROCESS,
+    ACTION,
+    EXPORT,
+    /**
+     * Downloads a server file, such as the file of an export, to a local file.
+     */
+    DOWNLOAD;
+
+    @JsonCreator
+    public static Type fromValue(String value) {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+  }
+
+  private String id;
+  private Type type;
+  private String workspace;
+  private String model;
+  private String name;
+  private String serverFile;
+  private String file;
+  private List<String> dependsOn = new ArrayList<>();
+  private int retries;
+  private int retryDelay = 10;
+  private boolean skipOnUpstreamFailure = true;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public void setType(Type type) {
+    this.type = type;
+  }
+
+  /**
+   * @return the id or name of the workspace, null for the default of the workflow
+   */
+  public String getWorkspace() {
+    return workspace;
+  }
+
+  public void setWorkspace(String workspace) {
+    this.workspace = workspace;
+  }
+
+  /**
+   * @return the id or name of the model, null for the default of the workflow
+   */
+  public String getModel() {
+    return model;
+  }
+
+  public void setModel(String model) {
+    this.model = model;
+  }
+
+  /**
+   * @return the id, code or name of the import, process, action or export to run
+   */
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the server file to upload to or download from, by default named as the local file
+   */
+  public String getServerFile() {
+    return serverFile;
+  }
+
+  public void setServerFile(String serverFile) {
+    this.serverFile = serverFile;
+  }
+
+  /**
+   * @return the local file to upload or download to
+   */
+  public String getFile() {
+    return file;
+  }
+
+  public void setFile(String file) {
+    this.file = file;
+  }
+
+  /**
+   * @return the ids of the steps that must be done before this one starts
+   */
+  public List<String> getDependsOn() {
+    return dependsOn;
+  }
+
+  public void setDependsOn(List<String> dependsOn) {
+    this.dependsOn = dependsOn == null ? new ArrayList<>() : dependsOn;
+  }
+
+  /**
+   * @return how many times the step is tried again after failing
+   */
+  public int getRetries() {
+    return retries;
+  }
+
+  public void setRetries(int retries) {
+    this.retries = retries;
+  }
+
+  /**
+   * @return the seconds to wait before trying a failed step again
+   */
+  public int getRetryDelay() {
+    return retryDelay;
+  }
+
+  public void setRetryDelay(int retryDelay) {
+    this.retryDelay = retryDelay;
+  }
+
+  /**
+   * @return true to skip the step when a step it depends on has failed or been skipped, false to run it regardless
+   */
+  public boolean isSkipOnUpstreamFailure() {
+    return skipOnUpstreamFailure;
+  }
+
+  public void setSkipOnUpstreamFailure(boolean skipOnUpstreamFailure) {
+    this.skipOnUpstreamFailure = skipOnUpstreamFailure;
+  }
+
+  /**
+   * @return the server file the step transfers
+   */
+  String serverFileName() {
+    if (serverFile != null) {
+      return serverFile;
+    }
+    return file == null ? null : Paths.get(file).getFileName().toString();
+  }
+
+  @Override
+  public String toString() {
+    return id + " (" + type + (name != null ? " " + name : "") + ")";
+  }
+}
@@ -0,0 +1,94 @@
+package com.anaplan.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.anaplan.client.dto.ListFailure;
+import com.anaplan.client.dto.ListItem;
+import com.anaplan.client.dto.ListItemResultData;
+import com.anaplan.client.exceptions.AnaplanAPIException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ListBatchPipelineTest {
+
+  private static final int BATCHES = 12;
+  private static final int BATCH_SIZE = 5;
+
+  @Test
+  void testBatchesSentConcurrentlyAndMergedInSourceOrder() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    ListItemResultData result;
+    try (ListBatchPipeline pipeline = new ListBatchPipeline(3, ExecutorProvider.PLATFORM, items -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        // batches finish out of order
+        Thread.sleep(ThreadLocalRandom.current().nextInt(10, 50));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        running.decrementAndGet();
+      }
+      // the last item of every batch fails
+      ListItemResultData batch = new ListItemResultData();
+      batch.setAdded(items.size() - 1);
+      batch.setFailures(new ArrayList<>(Collections.singletonList(failure(items.size() - 1))));
+      return batch;
+    })) {
+      for (int i = 0; i < BATCHES; i++) {
+        pipeline.submit(batch(i));
+      }
+      result = pipeline.await();
+    }
+
+    assertTrue(maxRunning.get() > 1 && maxRunning.get() <= 3);
+    assertEquals(BATCHES * (BATCH_SIZE - 1), result.getAdded());
+    assertEquals(BATCHES, result.getFailures().size());
+    for (int i = 0; i < BATCHES; i++) {
+      ListFailure failure = result.getFailures().get(i);
+      int row = i * BATCH_SIZE + BATCH_SIZE - 1;
+      assertEquals(row, failure.getRequestIndex());
+      assertEquals("item" + row, failure.getListItem().getName());
+    }
+  }
+
+  @Test
+  void testFirstFailureRethrown() {
+    try (ListBatchPipeline pipeline = new ListBatchPipeline(2, ExecutorProvider.PLATFORM, items -> {
+      if (items.get(0).getName().equals("item" + BATCH_SIZE)) {
+        throw new AnaplanAPIException("Rejected");
+      }
+      return new ListItemResultData();
+    })) {
+      assertThrows(AnaplanAPIException.class, () -> {
+        for (int i = 0; i < BATCHES; i++) {
+          pipeline.submit(batch(i));
+        }
+        pipeline.await();
+      });
+    }
+  }
+
+  private static List<ListItem> batch(int index) {
+    List<ListItem> items = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      ListItem item = new ListItem();
+      item.setName("item" + (index * BATCH_SIZE + i));
+      items.add(item);
+    }
+    return items;
+  }
+
+  private static ListFailure failure(int requestIndex) {
+    ListFailure failure = new ListFailure();
+    failure.setRequestIndex(requestIndex);
+    failure.setFailureType("Invalid");
+    return failure;
+  }
+}
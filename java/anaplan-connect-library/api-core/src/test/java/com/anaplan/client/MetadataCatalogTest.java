@@ -0,0 +1,52 @@
+package com.anaplan.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.anaplan.client.MetadataCatalog.Codec;
+import com.anaplan.client.dto.ServerFileData;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MetadataCatalogTest {
+
+  private static final Codec<ServerFileData, ServerFileData> CODEC =
+      new Codec<>(ServerFileData.class, data -> data, data -> data);
+
+  @Test
+  void testLookupsReturnCopiesOfCachedListing() {
+    MetadataCatalog catalog = new MetadataCatalog(300);
+    AtomicInteger listings = new AtomicInteger();
+
+    ServerFileData first = find(catalog, "Actuals.csv", listings);
+    first.setChunkCount(7);
+    ServerFileData second = find(catalog, "actuals.csv", listings);
+
+    assertEquals(1, listings.get());
+    assertNotSame(first, second);
+    assertEquals(1, second.getChunkCount());
+  }
+
+  @Test
+  void testZeroTtlListsEveryTime() {
+    MetadataCatalog catalog = new MetadataCatalog(0);
+    AtomicInteger listings = new AtomicInteger();
+
+    find(catalog, "Actuals.csv", listings);
+    find(catalog, "Actuals.csv", listings);
+
+    assertEquals(2, listings.get());
+  }
+
+  private static ServerFileData find(MetadataCatalog catalog, String name, AtomicInteger listings) {
+    return catalog.find(ServerFileData.class, MetadataCatalog.scope("ws", "model"), name, () -> {
+      listings.incrementAndGet();
+      ServerFileData data = new ServerFileData();
+      data.setId("113000000001");
+      data.setName("Actuals.csv");
+      data.setChunkCount(1);
+      return Arrays.asList(data);
+    }, data -> new String[]{data.getId(), null, data.getName()}, CODEC);
+  }
+}
@@ -0,0 +1,143 @@
+package com.anaplan.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.anaplan.client.MetadataCatalog.Codec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class MetadataSnapshotTest {
+
+  private static final Codec<String, String> CODEC = new Codec<>(String.class, name -> name, name -> name);
+  private static final ObjectMapper MAPPER = ObjectMapperProvider.getObjectMapper();
+
+  @Test
+  void testListingRestoredByNextProcess() throws Exception {
+    Path directory = Files.createTempDirectory("metadata-snapshot");
+    try {
+      Path file = directory.resolve("snapshot.json");
+      AtomicInteger listings = new AtomicInteger();
+
+      assertEquals("Budget", find(file, "user-a", "budget", listings));
+      assertEquals(1, listings.get());
+
+      // a new catalog stands in for the next run, which finds the listing on disk
+      assertEquals("Budget", find(file, "user-a", "BUDGET", listings));
+      assertEquals(1, listings.get());
+
+      // listings of another user are not shared
+      assertEquals("Budget", find(file, "user-b", "budget", listings));
+      assertEquals(2, listings.get());
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Test
+  void testInvalidatedScopeDroppedFromFile() throws Exception {
+    Path directory = Files.createTempDirectory("metadata-snapshot");
+    try {
+      Path file = directory.resolve("snapshot.json");
+      AtomicInteger listings = new AtomicInteger();
+      find(file, "user-a", "budget", listings);
+
+      MetadataCatalog catalog = new MetadataCatalog(300);
+      catalog.setSnapshot(new MetadataSnapshot(file, "user-a", 300));
+      catalog.invalidate(MetadataCatalog.scope("ws"));
+      assertNull(new MetadataSnapshot(file, "user-a", 300).read("String|ws/model", String.class));
+
+      find(file, "user-a", "budget", listings);
+      assertEquals(2, listings.get());
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Test
+  void testRestoredListingExpiresWithItsAge() throws Exception {
+    Path directory = Files.createTempDirectory("metadata-snapshot");
+    try {
+      Path file = directory.resolve("snapshot.json");
+      AtomicInteger listings = new AtomicInteger();
+      find(file, "user-a", "budget", listings);
+      // listed 1.5s ago, leaving 0.5s of a 2s time to live
+      age(file, 1500);
+
+      MetadataCatalog catalog = new MetadataCatalog(2);
+      catalog.setSnapshot(new MetadataSnapshot(file, "user-a", 2));
+      find(catalog, "ws/model", "budget", listings);
+      assertEquals(1, listings.get());
+
+      Thread.sleep(700);
+      find(catalog, "ws/model", "budget", listings);
+      assertEquals(2, listings.get());
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Test
+  void testExpiredListingsDroppedFromFile() throws Exception {
+    Path directory = Files.createTempDirectory("metadata-snapshot");
+    try {
+      Path file = directory.resolve("snapshot.json");
+      AtomicInteger listings = new AtomicInteger();
+      find(file, "user-a", "budget", listings);
+      age(file, 400_000);
+
+      MetadataCatalog catalog = new MetadataCatalog(300);
+      catalog.setSnapshot(new MetadataSnapshot(file, "user-a", 300));
+      find(catalog, "ws/other", "budget", listings);
+
+      Iterator<String> names = MAPPER.readTree(file.toFile()).fieldNames();
+      assertTrue(names.next().endsWith("|String|ws/other"));
+      assertFalse(names.hasNext());
+    } finally {
+      delete(directory);
+    }
+  }
+
+  private static String find(Path file, String identity, String name, AtomicInteger listings) {
+    MetadataCatalog catalog = new MetadataCatalog(300);
+    catalog.setSnapshot(new MetadataSnapshot(file, identity, 300));
+    return find(catalog, MetadataCatalog.scope("ws", "model"), name, listings);
+  }
+
+  private static String find(MetadataCatalog catalog, String scope, String name, AtomicInteger listings) {
+    return catalog.find(String.class, scope, name, () -> {
+      listings.incrementAndGet();
+      return Arrays.asList("Actuals", "Budget");
+    }, item -> new String[]{item, null, item}, CODEC);
+  }
+
+  /**
+   * Moves the listing time of every saved listing back.
+   */
+  private static void age(Path file, long millis) throws Exception {
+    JsonNode root = MAPPER.readTree(file.toFile());
+    for (JsonNode entry : root) {
+      ((ObjectNode) entry).put("savedAt", entry.path("savedAt").asLong() - millis);
+    }
+    MAPPER.writeValue(file.toFile(), root);
+  }
+
+  private static void delete(Path directory) throws Exception {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+}
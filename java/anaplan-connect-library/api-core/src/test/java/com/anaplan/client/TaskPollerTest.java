@@ -0,0 +1,29 @@
+package com.anaplan.client;
+
+import static com.anaplan.client.TaskPoller.MAX_INTERVAL_MILLIS;
+import static com.anaplan.client.TaskPoller.MIN_INTERVAL_MILLIS;
+import static com.anaplan.client.TaskPoller.nextDelay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TaskPollerTest {
+
+  @Test
+  void testDelayGrowsWithElapsedTimeWithoutProgress() {
+    assertEquals(MIN_INTERVAL_MILLIS, nextDelay(1000, 0, 0));
+    assertEquals(5000, nextDelay(20000, 0, 0));
+    assertEquals(MAX_INTERVAL_MILLIS, nextDelay(600000, 0, 0));
+  }
+
+  @Test
+  void testDelayClosesInOnEstimatedCompletion() {
+    // half done after 60s: 60s to go, so poll again in 30s
+    double rate = 0.5 / 60000;
+    assertEquals(MAX_INTERVAL_MILLIS, nextDelay(60000, 0.5, rate));
+    // 90% done: about 12s to go, so poll again in about 6s
+    assertEquals(6000, nextDelay(108000, 0.9, rate), 1);
+    // nearly done: poll as soon as allowed
+    assertEquals(MIN_INTERVAL_MILLIS, nextDelay(119000, 0.99, rate));
+  }
+}
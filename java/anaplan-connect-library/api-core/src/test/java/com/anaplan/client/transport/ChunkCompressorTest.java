@@ -0,0 +1,46 @@
+package com.anaplan.client.transport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.anaplan.client.ExecutorProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class ChunkCompressorTest {
+
+  @Test
+  void testRawContentStartingWithGzipMagicIsCompressed() throws IOException {
+    byte[] raw = {(byte) 0x1f, (byte) 0x8b, 'a', ',', 'b', '\n'};
+    assertArrayEquals(raw, decompress(ChunkCompressor.DEFAULT.compress(raw)));
+    assertArrayEquals(raw, decompress(ChunkCompressor.DEFAULT.compress(ByteBuffer.wrap(raw))));
+  }
+
+  @Test
+  void testParallelBlocksDecodeAsOneStream() throws IOException {
+    byte[] raw = new byte[3 * ChunkCompressor.MIN_PARALLEL_BLOCK_SIZE + 17];
+    Arrays.fill(raw, (byte) 'x');
+    raw[0] = (byte) 0x1f;
+    raw[1] = (byte) 0x8b;
+    try (ChunkCompressor compressor = new ChunkCompressor(1, 3, ExecutorProvider.PLATFORM)) {
+      assertArrayEquals(raw, decompress(compressor.compress(raw)));
+    }
+  }
+
+  private static byte[] decompress(byte[] encoded) throws IOException {
+    ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+    try (InputStream gzis = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+      byte[] block = new byte[8192];
+      int read;
+      while ((read = gzis.read(block)) != -1) {
+        decoded.write(block, 0, read);
+      }
+    }
+    return decoded.toByteArray();
+  }
+}
@@ -0,0 +1,111 @@
+package com.anaplan.client.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.anaplan.client.Service;
+import com.anaplan.client.transport.ConnectionProperties;
+import com.anaplan.client.workflow.WorkflowResult.State;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class WorkflowRunnerTest {
+
+  private static final String WORKFLOW = "{\"workspace\": \"ws\", \"model\": \"model\", \"concurrency\": 2, \"steps\": ["
+      + "{\"id\": \"upload\", \"type\": \"upload\", \"file\": \"data.csv\"},"
+      + "{\"id\": \"import-a\", \"type\": \"import\", \"name\": \"A\", \"dependsOn\": [\"upload\"]},"
+      + "{\"id\": \"import-b\", \"type\": \"import\", \"name\": \"B\", \"dependsOn\": [\"upload\"],"
+      + " \"retries\": 2, \"retryDelay\": 0},"
+      + "{\"id\": \"import-c\", \"type\": \"import\", \"name\": \"C\", \"dependsOn\": [\"upload\"]},"
+      + "{\"id\": \"process\", \"type\": \"process\", \"name\": \"P\", \"dependsOn\": [\"import-a\", \"import-b\"]},"
+      + "{\"id\": \"export\", \"type\": \"export\", \"name\": \"E\", \"model\": \"other\", \"dependsOn\": [\"process\"]},"
+      + "{\"id\": \"cleanup\", \"type\": \"action\", \"name\": \"Clean\", \"dependsOn\": [\"process\"],"
+      + " \"skipOnUpstreamFailure\": false}"
+      + "]}";
+
+  @Test
+  void testIndependentBranchesRunConcurrentlyUpToTheCap() throws Exception {
+    ScriptedRunner runner = new ScriptedRunner();
+    WorkflowResult result = runner.run(read(WORKFLOW));
+
+    assertTrue(result.isSuccessful());
+    assertEquals(7, runner.attempts.size());
+    assertEquals(2, runner.maxRunning.get());
+    assertEquals("other", runner.models.get("export"));
+    assertEquals("model", runner.models.get("process"));
+  }
+
+  @Test
+  void testFailedStepRetriedThenSkipsItsDependents() throws Exception {
+    ScriptedRunner runner = new ScriptedRunner();
+    runner.failures.put("import-b", 3);
+    WorkflowResult result = runner.run(read(WORKFLOW));
+
+    assertFalse(result.isSuccessful());
+    assertEquals(State.FAILED, result.getSteps().get("import-b").getState());
+    assertEquals(3, result.getSteps().get("import-b").getAttempts());
+    assertEquals(State.SKIPPED, result.getSteps().get("process").getState());
+    assertEquals(State.SKIPPED, result.getSteps().get("export").getState());
+    // runs regardless of its upstream failing, as do the independent branches
+    assertEquals(State.SUCCEEDED, result.getSteps().get("cleanup").getState());
+    assertEquals(State.SUCCEEDED, result.getSteps().get("import-c").getState());
+  }
+
+  @Test
+  void testRetrySucceeds() throws Exception {
+    ScriptedRunner runner = new ScriptedRunner();
+    runner.failures.put("import-b", 1);
+    WorkflowResult result = runner.run(read(WORKFLOW));
+
+    assertTrue(result.isSuccessful());
+    assertEquals(2, result.getSteps().get("import-b").getAttempts());
+  }
+
+  @Test
+  void testCycleRejected() {
+    String cyclic = "{\"workspace\": \"ws\", \"model\": \"model\", \"steps\": ["
+        + "{\"id\": \"a\", \"type\": \"action\", \"name\": \"A\", \"dependsOn\": [\"b\"]},"
+        + "{\"id\": \"b\", \"type\": \"action\", \"name\": \"B\", \"dependsOn\": [\"a\"]}"
+        + "]}";
+    assertThrows(IllegalArgumentException.class, () -> read(cyclic));
+  }
+
+  private static WorkflowDefinition read(String json) throws Exception {
+    return WorkflowDefinition.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+        new ObjectMapper());
+  }
+
+  private static class ScriptedRunner extends WorkflowRunner {
+
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+    private final Map<String, String> models = new ConcurrentHashMap<>();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    ScriptedRunner() {
+      super(new Service(new ConnectionProperties(), null, null));
+    }
+
+    @Override
+    protected boolean runStep(WorkflowDefinition definition, WorkflowStep step) throws Exception {
+      int now = running.incrementAndGet();
+      maxRunning.accumulateAndGet(now, Math::max);
+      try {
+        Thread.sleep(100);
+        models.put(step.getId(), step.getModel() != null ? step.getModel() : definition.getModel());
+        int attempt = attempts.merge(step.getId(), 1, Integer::sum);
+        return attempt > failures.getOrDefault(step.getId(), 0);
+      } finally {
+        running.decrementAndGet();
+      }
+    }
+  }
+}